@@ -7,6 +7,7 @@ group = "dev.pcvolkmer.onco"
 version = "0.1.0-SNAPSHOT"
 
 var versions = mapOf(
+    "mv64e-onkostar-data" to "0.4.1",
     "commons-cli" to "1.10.0",
     "mtb-dto" to "0.1.0-SNAPSHOT",
     "commons-csv" to "1.14.0",
@@ -32,7 +33,8 @@ repositories {
 }
 
 dependencies {
-    implementation("dev.pcvolkmer.onco:mv64e-onkostar-data:${version}") { isChanging = true }
+    // Resolved from the including library build, see settings.gradle.kts
+    implementation("dev.pcvolkmer.mv64e:mv64e-onkostar-data:${versions["mv64e-onkostar-data"]}")
     implementation("commons-cli:commons-cli:${versions["commons-cli"]}")
     implementation("org.springframework:spring-jdbc:${versions["spring-jdbc"]}")
     implementation("org.apache.commons:commons-csv:${versions["commons-csv"]}")
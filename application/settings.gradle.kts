@@ -1 +1,4 @@
 rootProject.name = "mv64e-onkostar-data-application"
+
+// Use the library of the parent directory instead of a published artifact
+includeBuild("..")
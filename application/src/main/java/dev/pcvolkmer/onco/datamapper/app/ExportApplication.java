@@ -20,16 +20,16 @@
 
 package dev.pcvolkmer.onco.datamapper.app;
 
+import dev.pcvolkmer.mv64e.datamapper.mapper.MtbDataMapper;
+import dev.pcvolkmer.mv64e.datamapper.mapper.MtbJsonWriter;
 import dev.pcvolkmer.mv64e.mtb.Converter;
 import dev.pcvolkmer.mv64e.mtb.TumorCellContentMethodCodingCode;
-import dev.pcvolkmer.onco.datamapper.mapper.MtbDataMapper;
 import org.apache.commons.cli.DefaultParser;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.help.HelpFormatter;
 import org.mariadb.jdbc.MariaDbDataSource;
 
-import java.io.PrintWriter;
 import java.nio.file.Path;
 import java.util.Scanner;
 
@@ -75,14 +75,13 @@ public class ExportApplication {
         if (parsedCliArgs.hasOption("histologic-tumor-cell-count")) {
             mtbMapper = mtbMapper.tumorCellContentMethod(TumorCellContentMethodCodingCode.HISTOLOGIC);
         }
-        var json = Converter.toJsonString(mtbMapper.getByCaseId(caseId));
+        var mtb = mtbMapper.getByCaseId(caseId);
 
         if (parsedCliArgs.hasOption("filename")) {
-            var writer = new PrintWriter(Path.of(parsedCliArgs.getOptionValue("filename")).toFile());
-            writer.println(json);
-            writer.close();
+            // Write JSON directly into file, gzip compressed if file name ends with ".gz"
+            MtbJsonWriter.write(mtb, Path.of(parsedCliArgs.getOptionValue("filename")));
         } else {
-            System.out.println(json);
+            System.out.println(Converter.toJsonString(mtb));
         }
     }
 
@@ -94,7 +93,7 @@ public class ExportApplication {
         options.addOption(Option.builder("P").longOpt("port").hasArg().type(Integer.class).desc("Database port (Standard: '3306')").get());
         options.addOption(Option.builder("D").longOpt("database").hasArg().desc("Database name (Standard: 'onkostar')").get());
         options.addOption(Option.builder().longOpt("case-id").hasArg().desc("MV §64e Fallnummer (Erforderlich!)").get());
-        options.addOption(Option.builder().longOpt("filename").hasArg().desc("Ausgabe in Datei").get());
+        options.addOption(Option.builder().longOpt("filename").hasArg().desc("Ausgabe in Datei (komprimiert bei Endung '.gz')").get());
         options.addOption(Option.builder().longOpt("filter-incomplete").desc("Filtere unvollständige Items").get());
         options.addOption(Option.builder().longOpt("histologic-tumor-cell-count").desc("Nimm histologische Ermittlung des Tumorzellgehalts an").get());
         return options;
@@ -5,6 +5,7 @@ plugins {
     id("java-library")
     id("com.diffplug.spotless") version "7.2.1"
     id("net.ltgt.errorprone") version "4.3.0"
+    id("me.champeau.jmh") version "0.7.3"
     id("maven-publish")
 }
 
@@ -17,7 +18,8 @@ var versions = mapOf(
     "slf4j" to "2.0.17",
     "junit" to "5.14.1",
     "assertj" to "3.27.6",
-    "mockito" to "5.21.0"
+    "mockito" to "5.21.0",
+    "jmh" to "1.37"
 )
 
 java {
@@ -65,6 +67,74 @@ dependencies {
     errorprone("com.uber.nullaway:nullaway:0.12.12")
 }
 
+val generateGeneIndex by tasks.registering {
+    group = "build"
+    description = "Compiles the bundled gene list into a binary gene index"
+
+    val geneList = file("src/main/resources/genes.csv")
+    val outputDir = layout.buildDirectory.dir("generated/resources/gene-index")
+    inputs.file(geneList)
+    outputs.dir(outputDir)
+
+    doLast {
+        // Format (big endian):
+        //   int magic, int version, int count,
+        //   int[count] record offsets,
+        //   int[count] record numbers ordered by symbol, HGNC ID and Ensembl ID (case-folded),
+        //   int data length, data with five (unsigned short length, UTF-8 bytes) strings per record:
+        //   HGNC ID, Ensembl ID, symbol, name, chromosome
+        val lines = geneList.readLines(Charsets.UTF_8).filter { it.isNotBlank() }
+        val header = lines.first().split('\t')
+        val columns = listOf(
+            "HGNC ID",
+            "Ensembl ID(supplied by Ensembl)",
+            "Approved symbol",
+            "Approved name",
+            "Chromosome"
+        ).map { header.indexOf(it) }
+        val records = lines.drop(1).map { line ->
+            val values = line.split('\t')
+            columns.map { values.getOrElse(it) { "" } }
+        }
+
+        val data = java.io.ByteArrayOutputStream()
+        val dataOut = java.io.DataOutputStream(data)
+        val offsets = records.map { record ->
+            val offset = dataOut.size()
+            record.forEach { value ->
+                val bytes = value.toByteArray(Charsets.UTF_8)
+                dataOut.writeShort(bytes.size)
+                dataOut.write(bytes)
+            }
+            offset
+        }
+
+        // Stable sort: first gene in list wins on equal keys
+        fun orderBy(field: Int) =
+            records.indices.sortedBy { records[it][field].uppercase(java.util.Locale.ROOT) }
+
+        val indexFile = outputDir.get().file("genes.idx").asFile
+        indexFile.parentFile.mkdirs()
+        java.io.DataOutputStream(indexFile.outputStream().buffered()).use { out ->
+            out.writeInt(0x474E4958)
+            out.writeInt(1)
+            out.writeInt(records.size)
+            offsets.forEach { out.writeInt(it) }
+            listOf(2, 0, 1).forEach { field -> orderBy(field).forEach { out.writeInt(it) } }
+            out.writeInt(data.size())
+            data.writeTo(out)
+        }
+    }
+}
+
+sourceSets {
+    main {
+        resources {
+            srcDir(generateGeneIndex)
+        }
+    }
+}
+
 tasks.test {
     useJUnitPlatform()
     dependsOn(tasks.spotlessCheck)
@@ -78,6 +148,15 @@ tasks.withType<JavaCompile> {
     }
 }
 
+jmh {
+    jmhVersion = versions["jmh"]
+    // Run single benchmarks using e.g. `./gradlew jmh -Pjmh.includes=findBySymbol`
+    if (project.hasProperty("jmh.includes")) {
+        includes = listOf(project.property("jmh.includes").toString())
+    }
+    resultFormat = "JSON"
+}
+
 spotless {
     java {
         importOrder()
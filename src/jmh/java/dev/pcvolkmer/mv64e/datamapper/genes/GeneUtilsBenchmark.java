@@ -0,0 +1,94 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.genes;
+
+import dev.pcvolkmer.mv64e.mtb.Chromosome;
+import dev.pcvolkmer.mv64e.mtb.Coding;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for gene lookups used when mapping variants
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneUtilsBenchmark {
+
+  // Loads bundled genes on state creation, before measurement
+  private final Gene gene = GeneUtils.findBySymbol("BRAF").orElseThrow();
+
+  @Benchmark
+  public Optional<Gene> findBySymbol() {
+    return GeneUtils.findBySymbol("BRAF");
+  }
+
+  @Benchmark
+  public Optional<Gene> findBySymbolIgnoringCase() {
+    return GeneUtils.findBySymbol("braf");
+  }
+
+  @Benchmark
+  public Optional<Gene> findBySymbolNotFound() {
+    return GeneUtils.findBySymbol("UNKNOWN");
+  }
+
+  @Benchmark
+  public Optional<Gene> findBySymbolContainingWhitespaces() {
+    return GeneUtils.findBySymbol("BRCA 2");
+  }
+
+  @Benchmark
+  public Optional<Gene> findByHgncId() {
+    return GeneUtils.findByHgncId("HGNC:1097");
+  }
+
+  @Benchmark
+  public Optional<Chromosome> getSingleChromosomeInPropertyForm() {
+    return gene.getSingleChromosomeInPropertyForm();
+  }
+
+  @Benchmark
+  public List<Chromosome> parseChromosomes() {
+    return Gene.parseChromosomes("7q34");
+  }
+
+  @Benchmark
+  public Coding toCoding() {
+    return GeneUtils.toCoding(gene);
+  }
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Map view of a row storing its values in an array. Column names are shared by all rows of a query
+ * using a {@link ColumnDictionary}. Values of columns not in the dictionary, like "Merkmale", can
+ * be added and are stored separately.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@NullMarked
+final class ArrayRow extends AbstractMap<String, @Nullable Object> {
+
+  private final ColumnDictionary columns;
+  private final @Nullable Object[] values;
+  private @Nullable Map<String, @Nullable Object> additionalValues;
+
+  ArrayRow(ColumnDictionary columns, @Nullable Object[] values) {
+    if (columns.size() != values.length) {
+      throw new IllegalArgumentException(
+          String.format("Expected %d values but got %d", columns.size(), values.length));
+    }
+    this.columns = columns;
+    this.values = values;
+  }
+
+  @Override
+  public @Nullable Object get(@Nullable Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    final var index = columns.indexOf((String) key);
+    if (index >= 0) {
+      return values[index];
+    }
+    return null == additionalValues ? null : additionalValues.get(key);
+  }
+
+  @Override
+  public boolean containsKey(@Nullable Object key) {
+    if (!(key instanceof String)) {
+      return false;
+    }
+    return columns.indexOf((String) key) >= 0
+        || (null != additionalValues && additionalValues.containsKey(key));
+  }
+
+  @Override
+  public @Nullable Object put(String key, @Nullable Object value) {
+    final var index = columns.indexOf(key);
+    if (index >= 0) {
+      final var previous = values[index];
+      values[index] = value;
+      return previous;
+    }
+    if (null == additionalValues) {
+      additionalValues = new HashMap<>();
+    }
+    return additionalValues.put(key, value);
+  }
+
+  @Override
+  public @Nullable Object remove(@Nullable Object key) {
+    if (key instanceof String && columns.indexOf((String) key) >= 0) {
+      throw new UnsupportedOperationException("Cannot remove query column " + key);
+    }
+    return null == additionalValues ? null : additionalValues.remove(key);
+  }
+
+  @Override
+  public int size() {
+    var size = null == additionalValues ? 0 : additionalValues.size();
+    for (var i = 0; i < values.length; i++) {
+      if (!columns.isShadowed(i)) {
+        size++;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public Set<Map.Entry<String, @Nullable Object>> entrySet() {
+    return new AbstractSet<>() {
+      @Override
+      public Iterator<Map.Entry<String, @Nullable Object>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return ArrayRow.this.size();
+      }
+    };
+  }
+
+  private final class EntryIterator implements Iterator<Map.Entry<String, @Nullable Object>> {
+    private int index = nextIndex(0);
+    private final @Nullable Iterator<Map.Entry<String, @Nullable Object>> additional =
+        null == additionalValues ? null : Map.copyOf(additionalValues).entrySet().iterator();
+
+    @Override
+    public boolean hasNext() {
+      return index < values.length || (null != additional && additional.hasNext());
+    }
+
+    @Override
+    public Map.Entry<String, @Nullable Object> next() {
+      if (index < values.length) {
+        final var entry = new SimpleImmutableEntry<>(columns.name(index), values[index]);
+        index = nextIndex(index + 1);
+        return entry;
+      }
+      if (null != additional) {
+        return additional.next();
+      }
+      throw new NoSuchElementException();
+    }
+
+    private int nextIndex(int start) {
+      var i = start;
+      while (i < values.length && columns.isShadowed(i)) {
+        i++;
+      }
+      return i;
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Column names of a query shared by all rows of the query. Lookups of column names are
+ * case-insensitive, same as for maps returned by Spring JdbcTemplate.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@NullMarked
+public final class ColumnDictionary {
+
+  private final List<String> names;
+  private final Map<String, Integer> indexes;
+
+  private ColumnDictionary(List<String> names, Map<String, Integer> indexes) {
+    this.names = names;
+    this.indexes = indexes;
+  }
+
+  /**
+   * Creates a column dictionary. If a column name is used multiple times, the last column wins, as
+   * for maps returned by Spring JdbcTemplate.
+   *
+   * @param names The column names in order of the queries columns
+   * @return The column dictionary
+   */
+  public static ColumnDictionary of(List<String> names) {
+    final var indexes = new HashMap<String, Integer>(names.size() * 4);
+    for (var i = 0; i < names.size(); i++) {
+      indexes.put(names.get(i).toLowerCase(Locale.ROOT), i);
+    }
+    // Index exact column names to avoid case conversion on most lookups, using the index of the
+    // last column with the same case-insensitive name
+    for (var name : names) {
+      indexes.put(name, indexes.get(name.toLowerCase(Locale.ROOT)));
+    }
+    return new ColumnDictionary(Collections.unmodifiableList(List.copyOf(names)), indexes);
+  }
+
+  /**
+   * Creates a column dictionary
+   *
+   * @param names The column names in order of the queries columns
+   * @return The column dictionary
+   */
+  public static ColumnDictionary of(String... names) {
+    return of(Arrays.asList(names));
+  }
+
+  /**
+   * Returns the index of the column
+   *
+   * @param name The column name (case-insensitive)
+   * @return The index or -1 if there is no such column
+   */
+  public int indexOf(String name) {
+    var index = indexes.get(name);
+    if (null == index) {
+      index = indexes.get(name.toLowerCase(Locale.ROOT));
+    }
+    return null == index ? -1 : index;
+  }
+
+  /**
+   * Returns the column name at the index
+   *
+   * @param index The index
+   * @return The column name
+   */
+  public String name(int index) {
+    return names.get(index);
+  }
+
+  /**
+   * Returns the number of columns including columns with duplicate names
+   *
+   * @return The number of columns
+   */
+  public int size() {
+    return names.size();
+  }
+
+  /**
+   * Checks if the column at the index is shadowed by a later column with the same name
+   *
+   * @param index The index
+   * @return true if the column name is in use by a later column
+   */
+  boolean isShadowed(int index) {
+    return indexOf(names.get(index)) != index;
+  }
+}
@@ -21,9 +21,38 @@
 package dev.pcvolkmer.mv64e.datamapper;
 
 import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.sql.DataSource;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.NullUnmarked;
 import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 /**
@@ -35,14 +64,78 @@ import org.springframework.jdbc.core.JdbcTemplate;
 @NullMarked
 public class PropertyCatalogue {
 
+  /** Maximum number of cached entries, may be exceeded briefly while other threads add entries */
+  static final int MAX_CACHE_SIZE = 10000;
+
+  /** Maximum number of entries requested by a single query */
+  static final int MAX_BATCH_SIZE = 500;
+
+  private static final Logger logger = LoggerFactory.getLogger(PropertyCatalogue.class);
+
+  // Weak keys and values, so catalogues of data sources no longer in use can be garbage collected
+  private static final Map<DataSource, WeakReference<PropertyCatalogue>> CATALOGUES =
+      new WeakHashMap<>();
+
   private final JdbcTemplate jdbcTemplate;
 
+  // Property catalogue versions are immutable: Entries and missing entries can be cached.
+  // Lookups do not lock, entries not used since the last eviction will be evicted first.
+  private final Map<Key, CachedEntry> cache = new ConcurrentHashMap<>(256);
+  private final AtomicBoolean evicting = new AtomicBoolean();
+  // Complete versions loaded at once, replaced atomically on preload
+  private volatile PropertyVersionTable preloaded = PropertyVersionTable.empty();
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder cacheMisses = new LongAdder();
+
   private PropertyCatalogue(JdbcTemplate jdbcTemplate) {
     this.jdbcTemplate = jdbcTemplate;
   }
 
+  /**
+   * Creates a new property catalogue with its own cache
+   *
+   * @param jdbcTemplate The JdbcTemplate to be used
+   * @return The property catalogue
+   */
+  public static PropertyCatalogue create(JdbcTemplate jdbcTemplate) {
+    return new PropertyCatalogue(jdbcTemplate);
+  }
+
+  /**
+   * Get the property catalogue of the data source used by the JdbcTemplate. The property catalogue
+   * will be created on first access and reused for all JdbcTemplates using the same data source as
+   * long as it is in use.
+   *
+   * @param jdbcTemplate The JdbcTemplate to be used
+   * @return The property catalogue
+   */
+  public static PropertyCatalogue of(final JdbcTemplate jdbcTemplate) {
+    final var dataSource = jdbcTemplate.getDataSource();
+    if (null == dataSource) {
+      return create(jdbcTemplate);
+    }
+    synchronized (CATALOGUES) {
+      final var reference = CATALOGUES.get(dataSource);
+      PropertyCatalogue propertyCatalogue = null == reference ? null : reference.get();
+      if (null == propertyCatalogue) {
+        propertyCatalogue = create(jdbcTemplate);
+        CATALOGUES.put(dataSource, new WeakReference<>(propertyCatalogue));
+      }
+      return propertyCatalogue;
+    }
+  }
+
   @Nullable private static PropertyCatalogue obj;
 
+  /**
+   * Initializes the global property catalogue. Subsequent calls will return the first property
+   * catalogue and ignore the given JdbcTemplate.
+   *
+   * @param jdbcTemplate The JdbcTemplate to be used
+   * @return The global property catalogue
+   * @deprecated Use {@link #of(JdbcTemplate)} to get the property catalogue of a data source
+   */
+  @Deprecated(since = "0.5")
   public static synchronized PropertyCatalogue initialize(final JdbcTemplate jdbcTemplate) {
     if (null == obj) {
       obj = new PropertyCatalogue(jdbcTemplate);
@@ -50,6 +143,13 @@ public class PropertyCatalogue {
     return obj;
   }
 
+  /**
+   * Get the global property catalogue
+   *
+   * @return The global property catalogue
+   * @deprecated Use {@link #of(JdbcTemplate)} to get the property catalogue of a data source
+   */
+  @Deprecated(since = "0.5")
   public static synchronized PropertyCatalogue instance() {
     if (null == obj) {
       throw new IllegalStateException("PropertyCatalogue not initialized");
@@ -58,31 +158,445 @@ public class PropertyCatalogue {
   }
 
   /**
-   * Get procedure result sets by parent procedure id
+   * Get property catalogue entry by code and version. Entries and missing entries are cached.
+   * Entries of preloaded versions are always available without database access. Codes not found
+   * in preloaded versions, e.g. using a different case, are requested from database as usual.
    *
    * @param code The entries code
    * @param version The entries version
-   * @return The sub procedures
+   * @return The property catalogue entry
    */
   public Entry getByCodeAndVersion(String code, int version) {
+    final var preloadedEntry = this.preloaded.get(code, version);
+    if (null != preloadedEntry) {
+      cacheHits.increment();
+      return preloadedEntry;
+    }
+
+    final var key = new Key(code, version);
+    final var cached = cache.get(key);
+    if (null != cached) {
+      cacheHits.increment();
+      cached.markUsed();
+      return cached.getOrThrow(code, version);
+    }
+
+    cacheMisses.increment();
     try {
-      return this.jdbcTemplate.queryForObject(
-          "SELECT code, shortdesc, e.description, v.oid AS version_oid, v.description AS version_description FROM property_catalogue_version_entry e"
-              + " JOIN property_catalogue_version v ON (e.property_version_id = v.id)"
-              + " WHERE code = ? AND property_version_id = ?",
-          (rs, rowNum) ->
+      final var entry =
+          this.jdbcTemplate.queryForObject(
+              "SELECT code, shortdesc, e.description, v.oid AS version_oid, v.description AS version_description FROM property_catalogue_version_entry e"
+                  + " JOIN property_catalogue_version v ON (e.property_version_id = v.id)"
+                  + " WHERE code = ? AND property_version_id = ?",
+              (rs, rowNum) ->
+                  new Entry(
+                      rs.getString("code"),
+                      rs.getString("shortdesc"),
+                      rs.getString("description"),
+                      rs.getString("version_oid"),
+                      rs.getString("version_description")),
+              code,
+              version);
+      cache(key, new CachedEntry(entry));
+      return Objects.requireNonNull(entry);
+    } catch (IncorrectResultSizeDataAccessException e) {
+      // No or no unique entry: Remember as missing entry
+      cache(key, new CachedEntry(null));
+      throw cannotRequest(code, version);
+    } catch (RuntimeException e) {
+      throw cannotRequest(code, version);
+    }
+  }
+
+  /**
+   * Resolves all entries registered in the batch not already cached using one query per {@link
+   * #MAX_BATCH_SIZE} entries. Resolved entries and missing entries are cached, so subsequent calls
+   * of {@link #getByCodeAndVersion(String, int)} will not query the database again. If resolving
+   * fails, entries will be requested one by one as usual.
+   *
+   * @param batch The batch of registered entries
+   */
+  public void resolve(Batch batch) {
+    final var keys = new ArrayList<Key>();
+    final var table = this.preloaded;
+    for (var key : batch.keys) {
+      if (null == table.get(key.code, key.version) && !cache.containsKey(key)) {
+        keys.add(key);
+      }
+    }
+
+    for (var i = 0; i < keys.size(); i += MAX_BATCH_SIZE) {
+      final var chunk = keys.subList(i, Math.min(i + MAX_BATCH_SIZE, keys.size()));
+      try {
+        resolve(chunk);
+      } catch (RuntimeException e) {
+        logger.warn("Cannot resolve property catalogue entries: {}", e.getMessage());
+        return;
+      }
+    }
+  }
+
+  private void resolve(List<Key> keys) {
+    final var args = new Object[keys.size() * 2];
+    for (var i = 0; i < keys.size(); i++) {
+      args[2 * i] = keys.get(i).code;
+      args[2 * i + 1] = keys.get(i).version;
+    }
+
+    final var requested = new HashSet<>(keys);
+    final var entries = new HashMap<Key, List<Entry>>();
+    // Rows with codes matched by collation only, e.g. different case or trailing spaces
+    final var unmatched = new AtomicBoolean();
+    this.jdbcTemplate.query(
+        "SELECT code, property_version_id, shortdesc, e.description, v.oid AS version_oid, v.description AS version_description FROM property_catalogue_version_entry e"
+            + " JOIN property_catalogue_version v ON (e.property_version_id = v.id)"
+            + " WHERE (code, property_version_id) IN ("
+            + String.join(", ", Collections.nCopies(keys.size(), "(?, ?)"))
+            + ")",
+        rs -> {
+          final var entry =
               new Entry(
                   rs.getString("code"),
                   rs.getString("shortdesc"),
                   rs.getString("description"),
                   rs.getString("version_oid"),
-                  rs.getString("version_description")),
-          code,
-          version);
+                  rs.getString("version_description"));
+          final var key = new Key(entry.getCode(), rs.getInt("property_version_id"));
+          if (!requested.contains(key)) {
+            unmatched.set(true);
+            return;
+          }
+          entries.computeIfAbsent(key, k -> new ArrayList<>()).add(entry);
+        },
+        args);
+
+    // Keys without unique entry are cached as missing entries, same as on single requests
+    for (var key : keys) {
+      final var found = entries.getOrDefault(key, List.of());
+      if (found.isEmpty() && unmatched.get()) {
+        // Key may be related to an unmatched row: Leave it to single request
+        continue;
+      }
+      cache(key, new CachedEntry(found.size() == 1 ? found.get(0) : null));
+    }
+    cacheMisses.add(keys.size());
+  }
+
+  private void cache(Key key, CachedEntry cachedEntry) {
+    cache.put(key, cachedEntry);
+    if (cache.size() > MAX_CACHE_SIZE) {
+      evict();
+    }
+  }
+
+  // Evicts entries not used since the last eviction until 90% of the maximum size is reached. If
+  // there are not enough of them, used entries will be evicted in a second round. Only one thread
+  // evicts entries, other threads will not wait for it.
+  private void evict() {
+    if (!evicting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      final var targetSize = MAX_CACHE_SIZE - MAX_CACHE_SIZE / 10;
+      for (var round = 0; round < 2 && cache.size() > targetSize; round++) {
+        final var iterator = cache.values().iterator();
+        while (iterator.hasNext() && cache.size() > targetSize) {
+          if (!iterator.next().resetUsed()) {
+            iterator.remove();
+          }
+        }
+      }
+    } finally {
+      evicting.set(false);
+    }
+  }
+
+  /**
+   * Loads all entries of the given property catalogue versions into memory using one query per
+   * {@link #MAX_BATCH_SIZE} versions. Requests of entries of these versions will not query the
+   * database anymore.
+   *
+   * @param versions The property catalogue versions
+   * @return The number of entries loaded
+   */
+  public int preload(Collection<Integer> versions) {
+    final var distinctVersions = List.copyOf(new LinkedHashSet<>(versions));
+    final var builder = new PropertyVersionTable.Builder();
+    try {
+      for (var i = 0; i < distinctVersions.size(); i += MAX_BATCH_SIZE) {
+        final var chunk =
+            distinctVersions.subList(i, Math.min(i + MAX_BATCH_SIZE, distinctVersions.size()));
+        chunk.forEach(builder::addVersion);
+        this.jdbcTemplate.query(
+            "SELECT code, property_version_id, shortdesc, e.description, v.oid AS version_oid, v.description AS version_description FROM property_catalogue_version_entry e"
+                + " JOIN property_catalogue_version v ON (e.property_version_id = v.id)"
+                + " WHERE property_version_id IN ("
+                + String.join(", ", Collections.nCopies(chunk.size(), "?"))
+                + ")",
+            rs -> {
+              builder.add(
+                  rs.getInt("property_version_id"),
+                  new Entry(
+                      rs.getString("code"),
+                      rs.getString("shortdesc"),
+                      rs.getString("description"),
+                      rs.getString("version_oid"),
+                      rs.getString("version_description")));
+            },
+            chunk.toArray());
+      }
     } catch (RuntimeException e) {
       throw new DataAccessException(
-          String.format(
-              "Cannot request property catalogue entry for '%s' version '%d'", code, version));
+          String.format("Cannot preload property catalogue versions %s", distinctVersions));
+    }
+    final var table = builder.build();
+    addPreloaded(table);
+    return table.size();
+  }
+
+  /**
+   * Loads all entries of the given property catalogue versions into memory using a local snapshot
+   * file. Versions not contained in an existing snapshot file will be loaded from database and the
+   * snapshot file will be written again, so later calls, e.g. after restart, will not access the
+   * database. Remove the snapshot file to load versions from database again.
+   *
+   * @param versions The property catalogue versions
+   * @param snapshot The path of the snapshot file
+   * @return The number of preloaded entries
+   * @throws IOException if the snapshot file cannot be written
+   */
+  public int preload(Collection<Integer> versions, Path snapshot) throws IOException {
+    if (Files.exists(snapshot)) {
+      try {
+        loadSnapshot(snapshot);
+      } catch (IOException e) {
+        logger.warn("Cannot load property catalogue snapshot {}: {}", snapshot, e.getMessage());
+      }
+    }
+    final var table = this.preloaded;
+    final var missingVersions =
+        versions.stream()
+            .filter(version -> !table.hasVersion(version))
+            .collect(Collectors.toList());
+    if (!missingVersions.isEmpty()) {
+      preload(missingVersions);
+      writeSnapshot(snapshot);
+    }
+    return this.preloaded.size();
+  }
+
+  /**
+   * Writes all preloaded versions into a local snapshot file to be loaded using {@link
+   * #loadSnapshot(Path)}, e.g. after restart. The file is replaced atomically if supported by the
+   * file system.
+   *
+   * @param path The path of the snapshot file
+   * @throws IOException if the snapshot file cannot be written
+   */
+  public void writeSnapshot(Path path) throws IOException {
+    final var absolutePath = path.toAbsolutePath();
+    final var tempFile =
+        Files.createTempFile(
+            Objects.requireNonNull(absolutePath.getParent()),
+            String.valueOf(absolutePath.getFileName()),
+            ".tmp");
+    try {
+      try (var outputStream =
+          new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        this.preloaded.write(outputStream);
+      }
+      try {
+        Files.move(
+            tempFile,
+            absolutePath,
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tempFile, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  /**
+   * Loads all versions of a local snapshot file written by {@link #writeSnapshot(Path)} without
+   * accessing the database. Versions already preloaded will be replaced.
+   *
+   * @param path The path of the snapshot file
+   * @return The number of entries loaded
+   * @throws IOException if the snapshot file cannot be read
+   */
+  public int loadSnapshot(Path path) throws IOException {
+    try (var inputStream =
+        new GZIPInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      final var table = PropertyVersionTable.read(inputStream);
+      addPreloaded(table);
+      return table.size();
+    }
+  }
+
+  private synchronized void addPreloaded(PropertyVersionTable table) {
+    this.preloaded = this.preloaded.with(table);
+  }
+
+  /**
+   * Returns the number of entries requested from cache
+   *
+   * @return The number of cache hits
+   */
+  public long getCacheHits() {
+    return cacheHits.sum();
+  }
+
+  /**
+   * Returns the number of entries requested from database
+   *
+   * @return The number of cache misses
+   */
+  public long getCacheMisses() {
+    return cacheMisses.sum();
+  }
+
+  int getCacheSize() {
+    return cache.size();
+  }
+
+  /** Removes all cached entries and missing entries */
+  public void clearCache() {
+    cache.clear();
+  }
+
+  private static DataAccessException cannotRequest(String code, int version) {
+    return new DataAccessException(
+        String.format(
+            "Cannot request property catalogue entry for '%s' version '%d'", code, version));
+  }
+
+  private static final class Key {
+    private final String code;
+    private final int version;
+
+    private Key(String code, int version) {
+      this.code = code;
+      this.version = version;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final var key = (Key) o;
+      return version == key.version && code.equals(key.code);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(code, version);
+    }
+  }
+
+  // Cached entry or missing entry if entry is null
+  private static final class CachedEntry {
+    @Nullable private final Entry entry;
+    private volatile boolean used;
+
+    private CachedEntry(@Nullable Entry entry) {
+      this.entry = entry;
+    }
+
+    private void markUsed() {
+      // Avoid writes to shared memory on every cache hit
+      if (!used) {
+        used = true;
+      }
+    }
+
+    private boolean resetUsed() {
+      final var wasUsed = used;
+      used = false;
+      return wasUsed;
+    }
+
+    private Entry getOrThrow(String code, int version) {
+      if (null == entry) {
+        throw cannotRequest(code, version);
+      }
+      return entry;
+    }
+  }
+
+  /**
+   * Batch of property catalogue entries to be resolved at once using {@link #resolve(Batch)}
+   *
+   * <p>Usage:
+   *
+   * <pre>{@code
+   * propertyCatalogue.resolve(new PropertyCatalogue.Batch().registerAll(resultSets));
+   * // Entries are available without additional queries
+   * propertyCatalogue.getByCodeAndVersion(code, version);
+   * }</pre>
+   */
+  public static final class Batch {
+    private static final String VERSION_COLUMN_SUFFIX = "_propcat_version";
+
+    private final Set<Key> keys = new LinkedHashSet<>();
+
+    /**
+     * Registers an entry
+     *
+     * @param code The entries code
+     * @param version The entries version
+     * @return The batch
+     */
+    public Batch register(String code, int version) {
+      keys.add(new Key(code, version));
+      return this;
+    }
+
+    /**
+     * Registers all properties of a result set. A property is assumed to be a value with a
+     * property catalogue version with the column name `..._propcat_version`.
+     *
+     * @param resultSet The result set
+     * @return The batch
+     */
+    public Batch registerAll(ResultSet resultSet) {
+      final var rawData = resultSet.getRawData();
+      for (var column : rawData.entrySet()) {
+        if (!column.getKey().endsWith(VERSION_COLUMN_SUFFIX)
+            || !(column.getValue() instanceof Number)) {
+          continue;
+        }
+        final var code =
+            rawData.get(
+                column
+                    .getKey()
+                    .substring(0, column.getKey().length() - VERSION_COLUMN_SUFFIX.length()));
+        if (code instanceof String || code instanceof Integer) {
+          register(code.toString().trim(), ((Number) column.getValue()).intValue());
+        }
+      }
+      return this;
+    }
+
+    /**
+     * Registers all properties of the result sets
+     *
+     * @param resultSets The result sets
+     * @return The batch
+     */
+    public Batch registerAll(Collection<ResultSet> resultSets) {
+      resultSets.forEach(this::registerAll);
+      return this;
+    }
+
+    int size() {
+      return keys.size();
     }
   }
 
@@ -0,0 +1,253 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Immutable in-memory table of all entries of complete property catalogue versions. Codes with
+ * multiple entries in one version are not contained, same as codes without entry.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@NullMarked
+final class PropertyVersionTable {
+
+  private static final int MAGIC = 0x50435654;
+  // Version 1 used modified UTF-8 limited to 65535 bytes per string
+  private static final int FORMAT_VERSION = 2;
+
+  private static final PropertyVersionTable EMPTY = new PropertyVersionTable(Map.of());
+
+  private final Map<Integer, Map<String, PropertyCatalogue.Entry>> versions;
+
+  private PropertyVersionTable(Map<Integer, Map<String, PropertyCatalogue.Entry>> versions) {
+    this.versions = versions;
+  }
+
+  static PropertyVersionTable empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns the entry of a contained version
+   *
+   * @param code The entries code
+   * @param version The entries version
+   * @return The entry or null if the version does not contain an unique entry for the code
+   */
+  PropertyCatalogue.@Nullable Entry get(String code, int version) {
+    return versions.getOrDefault(version, Map.of()).get(code);
+  }
+
+  /**
+   * Checks if the table contains the version
+   *
+   * @param version The version
+   * @return true if the version is contained
+   */
+  boolean hasVersion(int version) {
+    return versions.containsKey(version);
+  }
+
+  /**
+   * Returns a new table containing the versions of this and the other table. Versions in the other
+   * table replace versions of this table.
+   *
+   * @param other The other table
+   * @return The new table
+   */
+  PropertyVersionTable with(PropertyVersionTable other) {
+    final var merged = new HashMap<>(this.versions);
+    merged.putAll(other.versions);
+    return new PropertyVersionTable(Map.copyOf(merged));
+  }
+
+  /**
+   * Returns the number of entries in all versions
+   *
+   * @return The number of entries
+   */
+  int size() {
+    return versions.values().stream().mapToInt(Map::size).sum();
+  }
+
+  /**
+   * Writes the table in binary format
+   *
+   * @param outputStream The output stream to write to
+   * @throws IOException if the table cannot be written
+   */
+  void write(OutputStream outputStream) throws IOException {
+    final var out = new DataOutputStream(outputStream);
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    out.writeInt(versions.size());
+    for (var version : versions.entrySet()) {
+      out.writeInt(version.getKey());
+      out.writeInt(version.getValue().size());
+      for (var entry : version.getValue().values()) {
+        writeNullable(out, entry.getCode());
+        writeNullable(out, entry.getShortdesc());
+        writeNullable(out, entry.getDescription());
+        writeNullable(out, entry.getVersionOid());
+        writeNullable(out, entry.getVersionDescription());
+      }
+    }
+    out.flush();
+  }
+
+  /**
+   * Reads a table written by {@link #write(OutputStream)}
+   *
+   * @param inputStream The input stream to read from
+   * @return The table
+   * @throws IOException if the table cannot be read
+   */
+  static PropertyVersionTable read(InputStream inputStream) throws IOException {
+    final var in = new DataInputStream(inputStream);
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a property catalogue snapshot");
+    }
+    final var formatVersion = in.readInt();
+    if (formatVersion != 1 && formatVersion != FORMAT_VERSION) {
+      throw new IOException("Unsupported property catalogue snapshot version " + formatVersion);
+    }
+    final var builder = new Builder();
+    final var versionCount = in.readInt();
+    for (var i = 0; i < versionCount; i++) {
+      final var version = in.readInt();
+      final var entryCount = in.readInt();
+      builder.addVersion(version);
+      for (var j = 0; j < entryCount; j++) {
+        builder.add(
+            version,
+            new PropertyCatalogue.Entry(
+                readNullable(in, formatVersion),
+                readNullable(in, formatVersion),
+                readNullable(in, formatVersion),
+                readNullable(in, formatVersion),
+                readNullable(in, formatVersion)));
+      }
+    }
+    return builder.build();
+  }
+
+  private static void writeNullable(DataOutputStream out, @Nullable String value)
+      throws IOException {
+    out.writeBoolean(null != value);
+    if (null != value) {
+      // Length prefixed bytes, as writeUTF() is limited to 65535 bytes
+      final var bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+
+  private static @Nullable String readNullable(DataInputStream in, int formatVersion)
+      throws IOException {
+    if (!in.readBoolean()) {
+      return null;
+    }
+    if (formatVersion == 1) {
+      return in.readUTF();
+    }
+    final var length = in.readInt();
+    if (length < 0) {
+      throw new IOException("Invalid string length " + length);
+    }
+    final var bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /** Builder for tables. Repeated strings like version descriptions are shared between entries. */
+  static final class Builder {
+    private final Map<Integer, Map<String, PropertyCatalogue.Entry>> versions = new HashMap<>();
+    private final Set<String> duplicates = new HashSet<>();
+    private final Map<String, String> strings = new HashMap<>();
+
+    /**
+     * Adds a version without any entries yet
+     *
+     * @param version The property catalogue version
+     * @return The builder
+     */
+    Builder addVersion(int version) {
+      versions.computeIfAbsent(version, key -> new HashMap<>());
+      return this;
+    }
+
+    /**
+     * Adds an entry. Codes added multiple times for one version will be removed.
+     *
+     * @param version The property catalogue version
+     * @param entry The entry
+     * @return The builder
+     */
+    Builder add(int version, PropertyCatalogue.Entry entry) {
+      if (null == entry.getCode()) {
+        return this;
+      }
+      final var shared =
+          new PropertyCatalogue.Entry(
+              share(entry.getCode()),
+              share(entry.getShortdesc()),
+              share(entry.getDescription()),
+              share(entry.getVersionOid()),
+              share(entry.getVersionDescription()));
+      final var entries = versions.computeIfAbsent(version, key -> new HashMap<>());
+      if (duplicates.contains(version + "|" + entry.getCode())) {
+        return this;
+      }
+      if (null != entries.putIfAbsent(entry.getCode(), shared)) {
+        entries.remove(entry.getCode());
+        duplicates.add(version + "|" + entry.getCode());
+      }
+      return this;
+    }
+
+    PropertyVersionTable build() {
+      final var result = new HashMap<Integer, Map<String, PropertyCatalogue.Entry>>();
+      versions.forEach((version, entries) -> result.put(version, Map.copyOf(entries)));
+      return new PropertyVersionTable(Map.copyOf(result));
+    }
+
+    private @Nullable String share(@Nullable String value) {
+      if (null == value) {
+        return null;
+      }
+      return strings.computeIfAbsent(value, key -> key);
+    }
+  }
+}
@@ -25,6 +25,7 @@ import dev.pcvolkmer.mv64e.mtb.Reference;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.ObjIntConsumer;
 import org.jspecify.annotations.NonNull;
@@ -43,6 +44,9 @@ public class ResultSet {
 
   private final Map<String, Object> rawData;
 
+  // Strings converted from raw values, created on first conversion only
+  private volatile Map<String, ConvertedValue> convertedStrings;
+
   protected ResultSet(final Map<String, Object> rawData) {
     this.rawData = rawData;
   }
@@ -51,6 +55,18 @@ public class ResultSet {
     return new ResultSet(rawData);
   }
 
+  /**
+   * Creates a result set using values in order of the given column dictionary. The column
+   * dictionary can be shared by all rows of a query.
+   *
+   * @param columns The column dictionary
+   * @param values The column values in order of the column dictionary
+   * @return The result set
+   */
+  public static ResultSet from(final ColumnDictionary columns, final Object[] values) {
+    return new ResultSet(new ArrayRow(columns, values));
+  }
+
   public Map<String, Object> getRawData() {
     return rawData;
   }
@@ -106,17 +122,51 @@ public class ResultSet {
 
     if (raw == null) {
       return null;
-    } else if (raw instanceof String) {
-      return removeInvalidCodePoints(raw.toString().trim());
+    }
+
+    var converted = this.convertedStrings;
+    if (null != converted) {
+      var convertedValue = converted.get(columnName);
+      // Use converted value only if raw value has not been replaced
+      if (null != convertedValue && convertedValue.raw == raw) {
+        return convertedValue.value;
+      }
+    }
+
+    String result;
+    if (raw instanceof String) {
+      result = removeInvalidCodePoints(((String) raw).trim());
     } else if (raw instanceof Integer) {
-      return removeInvalidCodePoints(((Integer) raw).toString().trim());
+      result = ((Integer) raw).toString();
+    } else {
+      throw new IllegalArgumentException("Cannot convert " + raw.getClass() + " to String");
     }
 
-    throw new IllegalArgumentException("Cannot convert " + raw.getClass() + " to String");
+    if (result != raw) {
+      if (null == converted) {
+        // Concurrent initialization may drop a converted value, which will be converted again
+        converted = new ConcurrentHashMap<>();
+        this.convertedStrings = converted;
+      }
+      converted.put(columnName, new ConvertedValue(raw, result));
+    }
+    return result;
   }
 
   @NullMarked
   private static String removeInvalidCodePoints(String input) {
+    // Surrogates are the only chars to be removed, so most strings can be returned as they are
+    var hasSurrogates = false;
+    for (var i = 0; i < input.length(); i++) {
+      if (Character.isSurrogate(input.charAt(i))) {
+        hasSurrogates = true;
+        break;
+      }
+    }
+    if (!hasSurrogates) {
+      return input;
+    }
+
     StringBuilder sb = new StringBuilder(input.length());
     input
         .codePoints()
@@ -205,6 +255,11 @@ public class ResultSet {
     if (raw == null) {
       return null;
     }
+    if (raw instanceof java.sql.Date) {
+      var localDate = ((java.sql.Date) raw).toLocalDate();
+      // JSON Converter uses UTC timezone
+      return Date.from(localDate.atStartOfDay(ZoneId.of("UTC")).toInstant());
+    }
     if (raw instanceof Date) {
       var localDate = LocalDate.parse(raw.toString());
       // JSON Converter uses UTC timezone
@@ -403,4 +458,14 @@ public class ResultSet {
   public boolean equals(Object obj) {
     return obj instanceof ResultSet && this.rawData.equals(((ResultSet) obj).rawData);
   }
+
+  private static final class ConvertedValue {
+    private final Object raw;
+    private final String value;
+
+    private ConvertedValue(Object raw, String value) {
+      this.raw = raw;
+      this.value = value;
+    }
+  }
 }
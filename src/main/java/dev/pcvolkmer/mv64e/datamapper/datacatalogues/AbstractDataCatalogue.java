@@ -22,11 +22,22 @@ package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
 
 import dev.pcvolkmer.mv64e.datamapper.ResultSet;
 import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.IntSupplier;
 import java.util.stream.Collectors;
 import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
 /**
  * Common implementations for all data catalogues
@@ -37,14 +48,86 @@ import org.springframework.jdbc.core.JdbcTemplate;
 @NullMarked
 public abstract class AbstractDataCatalogue implements DataCatalogue {
 
+  private static final Logger logger = LoggerFactory.getLogger(AbstractDataCatalogue.class);
+
+  /** Maximum number of ids used in a single SQL 'IN' clause */
+  static final int MAX_IN_LIST_SIZE = 500;
+
   protected final JdbcTemplate jdbcTemplate;
 
+  private volatile IntSupplier fetchSize = () -> 0;
+
   protected AbstractDataCatalogue(JdbcTemplate jdbcTemplate) {
     this.jdbcTemplate = jdbcTemplate;
   }
 
   protected abstract String getTableName();
 
+  /**
+   * Sets the JDBC fetch size used for queries of this catalogue. A value of zero uses the fetch
+   * size of the JdbcTemplate.
+   *
+   * @param fetchSize The fetch size
+   */
+  public void setFetchSize(int fetchSize) {
+    if (fetchSize < 0) {
+      throw new IllegalArgumentException("Fetch size must not be negative");
+    }
+    this.fetchSize = () -> fetchSize;
+  }
+
+  /**
+   * Uses the JDBC fetch size provided on each query, e.g. the fetch size of the catalogue factory
+   *
+   * @param fetchSize The fetch size supplier
+   */
+  void useFetchSize(IntSupplier fetchSize) {
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * Get the JDBC fetch size used for queries of this catalogue
+   *
+   * @return The fetch size or zero if the fetch size of the JdbcTemplate is used
+   */
+  public int getFetchSize() {
+    return fetchSize.getAsInt();
+  }
+
+  /**
+   * Queries rows and reads them directly into result sets
+   *
+   * @param sql The SQL query
+   * @param args The query arguments
+   * @return The result sets in order of the rows
+   */
+  protected List<ResultSet> queryForResultSets(String sql, Object... args) {
+    var collector = new ResultSetCollector();
+    query(sql, collector, args);
+    return collector.getResultSets();
+  }
+
+  /**
+   * Queries rows using the configured fetch size
+   *
+   * @param sql The SQL query
+   * @param rowCallbackHandler The handler to be called for each row
+   * @param args The query arguments
+   */
+  protected void query(String sql, RowCallbackHandler rowCallbackHandler, Object... args) {
+    final var argumentSetter = new ArgumentPreparedStatementSetter(args);
+    final var fetchSize = getFetchSize();
+    this.jdbcTemplate.query(
+        sql,
+        preparedStatement -> {
+          if (fetchSize > 0) {
+            preparedStatement.setFetchSize(fetchSize);
+          }
+          argumentSetter.setValues(preparedStatement);
+        },
+        rowCallbackHandler);
+  }
+
   /**
    * Get procedure result set by procedure id
    *
@@ -54,8 +137,12 @@ public abstract class AbstractDataCatalogue implements DataCatalogue {
   @NullMarked
   @Override
   public ResultSet getById(int id) {
+    return RowCache.getRow(this, id, this::loadById);
+  }
+
+  private ResultSet loadById(int id) {
     var result =
-        this.jdbcTemplate.queryForList(
+        queryForResultSets(
             String.format(
                 "SELECT patient.patienten_id, %s.*, prozedur.patient_id, prozedur.hauptprozedur_id FROM %s JOIN prozedur ON (prozedur.id = %s.id) JOIN patient ON (patient.id = prozedur.patient_id) WHERE geloescht = 0 AND prozedur.id = ?",
                 getTableName(), getTableName(), getTableName()),
@@ -67,7 +154,7 @@ public abstract class AbstractDataCatalogue implements DataCatalogue {
       throw new DataAccessException("Multiple records found for id: " + id);
     }
 
-    var resultSet = ResultSet.from(result.get(0));
+    var resultSet = result.get(0);
 
     if (resultSet.getRawData().containsKey("id")) {
       var merkmale = getMerkmaleById(resultSet.getId());
@@ -81,13 +168,106 @@ public abstract class AbstractDataCatalogue implements DataCatalogue {
   }
 
   /**
-   * Get list of ResultSet by list of procedure ids Filters our null objects
+   * Get list of ResultSet by list of procedure ids. Uses one query per {@link #MAX_IN_LIST_SIZE}
+   * procedure ids and one query for related "Merkmale". Rows available in an open {@link
+   * RowCache} will not be queried again.
    *
    * @param ids List of procedure id
-   * @return List of result set
+   * @return List of result set in order of given procedure ids
    */
   public List<ResultSet> getByIdList(List<Integer> ids) {
-    return ids.stream().map(this::getById).collect(Collectors.toList());
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+
+    var resultSets = new LinkedHashMap<Integer, ResultSet>();
+    var rowCache = RowCache.current();
+    rowCache.ifPresent(
+        cache ->
+            ids.forEach(
+                id -> {
+                  var cached = cache.getRow(this, id);
+                  if (null != cached) {
+                    resultSets.put(id, cached);
+                  }
+                }));
+
+    var missingIds =
+        ids.stream()
+            .distinct()
+            .filter(id -> !resultSets.containsKey(id))
+            .collect(Collectors.toList());
+    if (!missingIds.isEmpty()) {
+      resultSets.putAll(loadByIds(missingIds, false));
+    }
+
+    return ids.stream().map(resultSets::get).collect(Collectors.toList());
+  }
+
+  /**
+   * Loads rows of procedures into the {@link RowCache} open for the current thread using one query
+   * per {@link #MAX_IN_LIST_SIZE} procedure ids. Unlike {@link #getByIdList(List)}, procedures not
+   * found or found multiple times are skipped and will be read on access.
+   *
+   * @param ids List of procedure ids
+   */
+  void preloadByIdList(List<Integer> ids) {
+    var rowCache = RowCache.current().orElse(null);
+    if (null == rowCache) {
+      return;
+    }
+    var missingIds =
+        ids.stream()
+            .distinct()
+            .filter(id -> null == rowCache.getRow(this, id))
+            .collect(Collectors.toList());
+    if (!missingIds.isEmpty()) {
+      loadByIds(missingIds, true);
+    }
+  }
+
+  private Map<Integer, ResultSet> loadByIds(List<Integer> ids, boolean skipInvalid) {
+    var rowsById = new HashMap<Integer, List<ResultSet>>();
+    for (var chunk : chunked(ids)) {
+      queryForResultSets(
+              String.format(
+                  "SELECT patient.patienten_id, %s.*, prozedur.patient_id, prozedur.hauptprozedur_id FROM %s JOIN prozedur ON (prozedur.id = %s.id) JOIN patient ON (patient.id = prozedur.patient_id) WHERE geloescht = 0 AND prozedur.id IN (%s)",
+                  getTableName(), getTableName(), getTableName(), placeholders(chunk.size())),
+              chunk.toArray())
+          .forEach(
+              resultSet -> {
+                var id = resultSet.getRawData().get("id");
+                if (id instanceof Number) {
+                  rowsById
+                      .computeIfAbsent(((Number) id).intValue(), key -> new ArrayList<>())
+                      .add(resultSet);
+                }
+              });
+    }
+
+    var loaded = new LinkedHashMap<Integer, ResultSet>();
+    for (var id : ids) {
+      var rows = rowsById.getOrDefault(id, List.of());
+      if (rows.size() == 1) {
+        loaded.put(id, rows.get(0));
+      } else if (skipInvalid) {
+        // Will be read on access and fail there
+        continue;
+      } else if (rows.isEmpty()) {
+        throw new DataAccessException("No record found for id: " + id);
+      } else {
+        throw new DataAccessException("Multiple records found for id: " + id);
+      }
+    }
+
+    var merkmale = getMerkmaleByIds(loaded.keySet());
+    var rowCache = RowCache.current();
+    loaded.forEach(
+        (id, resultSet) -> {
+          addMerkmale(resultSet, merkmale.getOrDefault(id, Map.of()));
+          rowCache.ifPresent(cache -> cache.putRow(this, id, resultSet));
+        });
+    return loaded;
   }
 
   /**
@@ -97,13 +277,9 @@ public abstract class AbstractDataCatalogue implements DataCatalogue {
    * @return the diseases
    */
   public List<ResultSet> getDiseases(int procedureId) {
-    return this.jdbcTemplate
-        .queryForList(
-            "SELECT * FROM erkrankung_prozedur JOIN erkrankung ON (erkrankung.id = erkrankung_prozedur.erkrankung_id) WHERE erkrankung_prozedur.prozedur_id = ?",
-            procedureId)
-        .stream()
-        .map(ResultSet::from)
-        .collect(Collectors.toList());
+    return queryForResultSets(
+        "SELECT * FROM erkrankung_prozedur JOIN erkrankung ON (erkrankung.id = erkrankung_prozedur.erkrankung_id) WHERE erkrankung_prozedur.prozedur_id = ?",
+        procedureId);
   }
 
   /**
@@ -113,35 +289,108 @@ public abstract class AbstractDataCatalogue implements DataCatalogue {
    * @return The sub procedures
    */
   Map<String, List<String>> getMerkmaleById(int id) {
+    var result = new LinkedHashMap<String, List<String>>();
     try {
-      var resultSet =
-          this.jdbcTemplate.queryForList(
-              String.format(
-                  "SELECT feldname, feldwert FROM %s_merkmale WHERE eintrag_id = ?",
-                  getTableName()),
-              id);
-
-      return resultSet.stream()
-          .collect(
-              Collectors.groupingBy(
-                  m -> {
-                    var feldname = m.get("feldname");
-                    if (feldname == null) {
-                      return "?";
-                    }
-                    return feldname.toString();
-                  },
-                  Collectors.mapping(
-                      stringObjectMap -> {
-                        var feldwert = stringObjectMap.get("feldwert");
-                        if (feldwert == null) {
-                          return "?";
-                        }
-                        return feldwert.toString();
-                      },
-                      Collectors.toList())));
+      query(
+          String.format(
+              "SELECT feldname, feldwert FROM %s_merkmale WHERE eintrag_id = ?", getTableName()),
+          rs ->
+              result
+                  .computeIfAbsent(
+                      valueOrUnknown(rs.getString("feldname")), key -> new ArrayList<>())
+                  .add(valueOrUnknown(rs.getString("feldwert"))),
+          id);
     } catch (org.springframework.dao.DataAccessException e) {
       return Map.of();
     }
+    return result;
+  }
+
+  /**
+   * Get procedure "Merkmale" results for multiple procedures using one query per {@link
+   * #MAX_IN_LIST_SIZE} procedure ids
+   *
+   * @param ids The procedure ids
+   * @return The "Merkmale" grouped by procedure id and form field name
+   */
+  Map<Integer, Map<String, List<String>>> getMerkmaleByIds(Collection<Integer> ids) {
+    if (ids.isEmpty()) {
+      return Map.of();
+    }
+
+    var distinctIds = ids.stream().distinct().collect(Collectors.toList());
+    var result = new HashMap<Integer, Map<String, List<String>>>();
+    for (var chunk : chunked(distinctIds)) {
+      // Keep "Merkmale" of other chunks if a chunk cannot be loaded
+      var chunkResult = new HashMap<Integer, Map<String, List<String>>>();
+      try {
+        query(
+            String.format(
+                "SELECT eintrag_id, feldname, feldwert FROM %s_merkmale WHERE eintrag_id IN (%s)",
+                getTableName(), placeholders(chunk.size())),
+            rs -> {
+              var eintragId = rs.getInt("eintrag_id");
+              if (rs.wasNull()) {
+                return;
+              }
+              chunkResult
+                  .computeIfAbsent(eintragId, key -> new LinkedHashMap<>())
+                  .computeIfAbsent(
+                      valueOrUnknown(rs.getString("feldname")), key -> new ArrayList<>())
+                  .add(valueOrUnknown(rs.getString("feldwert")));
+            },
+            chunk.toArray());
+        result.putAll(chunkResult);
+      } catch (org.springframework.dao.DataAccessException e) {
+        logger.warn(
+            "Cannot load Merkmale of {} for procedures {}: {}",
+            getTableName(),
+            chunk,
+            e.getMessage());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Adds "Merkmale" to the raw data of the given result set
+   *
+   * @param resultSet The result set
+   * @param merkmale The "Merkmale" grouped by form field name
+   */
+  static void addMerkmale(ResultSet resultSet, Map<String, List<String>> merkmale) {
+    merkmale.forEach((key, value) -> resultSet.getRawData().put(key, value));
+  }
+
+  /**
+   * Splits ids into chunks to be used in SQL 'IN' clauses
+   *
+   * @param ids The ids
+   * @param <T> The type of the ids
+   * @return The chunks containing at most {@link #MAX_IN_LIST_SIZE} ids
+   */
+  static <T> List<List<T>> chunked(List<T> ids) {
+    var result = new ArrayList<List<T>>();
+    for (var i = 0; i < ids.size(); i += MAX_IN_LIST_SIZE) {
+      result.add(ids.subList(i, Math.min(i + MAX_IN_LIST_SIZE, ids.size())));
+    }
+    return result;
+  }
+
+  /**
+   * Returns comma separated placeholders to be used in SQL 'IN' clauses
+   *
+   * @param count The number of placeholders
+   * @return The placeholders, e.g. "?, ?, ?"
+   */
+  static String placeholders(int count) {
+    return String.join(", ", Collections.nCopies(count, "?"));
+  }
+
+  private static String valueOrUnknown(@Nullable Object value) {
+    if (value == null) {
+      return "?";
+    }
+    return value.toString();
   }
 }
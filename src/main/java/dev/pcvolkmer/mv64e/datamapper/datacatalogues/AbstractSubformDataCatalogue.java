@@ -22,7 +22,13 @@ package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
 
 import dev.pcvolkmer.mv64e.datamapper.ResultSet;
 import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -51,24 +57,87 @@ public abstract class AbstractSubformDataCatalogue extends AbstractDataCatalogue
    * @return The sub procedures
    */
   public List<ResultSet> getAllByParentId(int id) {
-    return this.jdbcTemplate
-        .queryForList(
-            String.format(
-                "SELECT patient.patienten_id, %s.*, prozedur.patient_id, prozedur.hauptprozedur_id FROM %s JOIN prozedur ON (prozedur.id = %s.id) JOIN patient ON (patient.id = prozedur.patient_id) WHERE geloescht = 0 AND hauptprozedur_id = ?",
-                getTableName(), getTableName(), getTableName()),
-            id)
-        .stream()
-        .filter(resultSet -> resultSet.containsKey("id"))
-        .map(ResultSet::from)
-        .peek(
-            resultSet -> {
-              var merkmale = getMerkmaleById(resultSet.getId());
-              if (merkmale.isEmpty()) {
-                return;
-              }
-              merkmale.forEach((key, value) -> resultSet.getRawData().put(key, value));
-            })
-        .collect(Collectors.toList());
+    return RowCache.getRowsByParentId(this, id, this::loadAllByParentId);
+  }
+
+  private List<ResultSet> loadAllByParentId(int id) {
+    var resultSets =
+        queryForResultSets(
+                String.format(
+                    "SELECT patient.patienten_id, %s.*, prozedur.patient_id, prozedur.hauptprozedur_id FROM %s JOIN prozedur ON (prozedur.id = %s.id) JOIN patient ON (patient.id = prozedur.patient_id) WHERE geloescht = 0 AND hauptprozedur_id = ?",
+                    getTableName(), getTableName(), getTableName()),
+                id)
+            .stream()
+            .filter(resultSet -> resultSet.getRawData().containsKey("id"))
+            .collect(Collectors.toList());
+
+    // Load "Merkmale" of all sub procedures at once
+    var merkmale =
+        getMerkmaleByIds(resultSets.stream().map(ResultSet::getId).collect(Collectors.toList()));
+    resultSets.forEach(
+        resultSet -> addMerkmale(resultSet, merkmale.getOrDefault(resultSet.getId(), Map.of())));
+
+    return resultSets;
+  }
+
+  /**
+   * Get procedure result sets of multiple parent procedures using one query per {@link
+   * #MAX_IN_LIST_SIZE} parent procedure ids and one query for related "Merkmale". Sub procedures
+   * available in an open {@link RowCache} will not be queried again, loaded sub procedures will be
+   * added to it.
+   *
+   * @param parentIds The parent procedure ids
+   * @return The sub procedures grouped by parent procedure id
+   */
+  public Map<Integer, List<ResultSet>> getAllByParentIds(Collection<Integer> parentIds) {
+    var result = new LinkedHashMap<Integer, List<ResultSet>>();
+    var rowCache = RowCache.current();
+    var missingIds = new ArrayList<Integer>();
+    for (var parentId : new LinkedHashSet<>(parentIds)) {
+      var cached =
+          rowCache.map(cache -> cache.getRowsByParentId(this, parentId)).orElse(null);
+      if (null == cached) {
+        missingIds.add(parentId);
+      } else {
+        result.put(parentId, cached);
+      }
+    }
+    if (missingIds.isEmpty()) {
+      return result;
+    }
+
+    var loaded = new HashMap<Integer, List<ResultSet>>();
+    for (var chunk : chunked(missingIds)) {
+      var resultSets =
+          queryForResultSets(
+                  String.format(
+                      "SELECT patient.patienten_id, %s.*, prozedur.patient_id, prozedur.hauptprozedur_id FROM %s JOIN prozedur ON (prozedur.id = %s.id) JOIN patient ON (patient.id = prozedur.patient_id) WHERE geloescht = 0 AND hauptprozedur_id IN (%s)",
+                      getTableName(), getTableName(), getTableName(), placeholders(chunk.size())),
+                  chunk.toArray())
+              .stream()
+              .filter(resultSet -> resultSet.getRawData().containsKey("id"))
+              .collect(Collectors.toList());
+
+      var merkmale =
+          getMerkmaleByIds(resultSets.stream().map(ResultSet::getId).collect(Collectors.toList()));
+      for (var resultSet : resultSets) {
+        addMerkmale(resultSet, merkmale.getOrDefault(resultSet.getId(), Map.of()));
+        var parentId = resultSet.getParentId();
+        if (null != parentId) {
+          loaded.computeIfAbsent(parentId, key -> new ArrayList<>()).add(resultSet);
+        }
+      }
+    }
+
+    for (var parentId : missingIds) {
+      var rows = loaded.getOrDefault(parentId, List.of());
+      result.put(
+          parentId,
+          rowCache
+              .map(cache -> cache.putRowsByParentId(this, parentId, rows))
+              .orElse(rows));
+    }
+    return result;
   }
 
   /**
@@ -21,14 +21,24 @@
 package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
 
 import dev.pcvolkmer.mv64e.datamapper.exceptions.DataCatalogueCreationException;
+import java.lang.ref.WeakReference;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import javax.sql.DataSource;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 import org.springframework.jdbc.core.JdbcTemplate;
 
 /**
- * Simple catalogue factory to get a catalogue instance
+ * Catalogue factory to get catalogue instances of a data source. Catalogues are created on first
+ * access using pre-registered suppliers and shared by all exports using the same data source.
+ *
+ * <p>Use {@link #of(JdbcTemplate)} to get the factory of a data source. A single JVM can use
+ * factories of multiple Onkostar databases at the same time. Factories of data sources no longer in
+ * use can be garbage collected.
  *
  * @author Paul-Christian Volkmer
  * @since 0.1
@@ -36,8 +46,17 @@ import org.springframework.jdbc.core.JdbcTemplate;
 @NullMarked
 public class DataCatalogueFactory {
 
+  private static final Map<Class<? extends DataCatalogue>, Function<JdbcTemplate, DataCatalogue>>
+      SUPPLIERS = suppliers();
+
+  // Weak keys and values, so factories of data sources no longer in use can be garbage collected
+  private static final Map<DataSource, WeakReference<DataCatalogueFactory>> FACTORIES =
+      new WeakHashMap<>();
+
   private final JdbcTemplate jdbcTemplate;
-  private final Map<Class<? extends DataCatalogue>, DataCatalogue> catalogues = new HashMap<>();
+  private final Map<Class<? extends DataCatalogue>, DataCatalogue> catalogues =
+      new ConcurrentHashMap<>();
+  private volatile int fetchSize;
 
   private DataCatalogueFactory(JdbcTemplate jdbcTemplate) {
     this.jdbcTemplate = jdbcTemplate;
@@ -45,6 +64,69 @@ public class DataCatalogueFactory {
 
   @Nullable private static DataCatalogueFactory obj;
 
+  private static Map<Class<? extends DataCatalogue>, Function<JdbcTemplate, DataCatalogue>>
+      suppliers() {
+    var suppliers =
+        new HashMap<Class<? extends DataCatalogue>, Function<JdbcTemplate, DataCatalogue>>();
+    suppliers.put(EcogCatalogue.class, EcogCatalogue::create);
+    suppliers.put(HistologieCatalogue.class, HistologieCatalogue::create);
+    suppliers.put(KpaCatalogue.class, KpaCatalogue::create);
+    suppliers.put(PatientCatalogue.class, PatientCatalogue::create);
+    suppliers.put(ProzedurCatalogue.class, ProzedurCatalogue::create);
+    suppliers.put(TherapielinieCatalogue.class, TherapielinieCatalogue::create);
+    suppliers.put(TumorausbreitungCatalogue.class, TumorausbreitungCatalogue::create);
+    suppliers.put(TumorgradingCatalogue.class, TumorgradingCatalogue::create);
+    suppliers.put(VerwandteCatalogue.class, VerwandteCatalogue::create);
+    suppliers.put(VorbefundeCatalogue.class, VorbefundeCatalogue::create);
+    suppliers.put(TherapieplanCatalogue.class, TherapieplanCatalogue::create);
+    suppliers.put(EinzelempfehlungCatalogue.class, EinzelempfehlungCatalogue::create);
+    suppliers.put(MolekulargenetikCatalogue.class, MolekulargenetikCatalogue::create);
+    suppliers.put(
+        MolekulargenuntersuchungCatalogue.class, MolekulargenuntersuchungCatalogue::create);
+    suppliers.put(MolekulargenMsiCatalogue.class, MolekulargenMsiCatalogue::create);
+    suppliers.put(MolekularImmunhistoCatalogue.class, MolekularImmunhistoCatalogue::create);
+    suppliers.put(MolekularPcrCatalogue.class, MolekularPcrCatalogue::create);
+    suppliers.put(RebiopsieCatalogue.class, RebiopsieCatalogue::create);
+    suppliers.put(ReevaluationCatalogue.class, ReevaluationCatalogue::create);
+    suppliers.put(ConsentMvCatalogue.class, ConsentMvCatalogue::create);
+    suppliers.put(ConsentMvVerlaufCatalogue.class, ConsentMvVerlaufCatalogue::create);
+    suppliers.put(KeimbahndiagnoseCatalogue.class, KeimbahndiagnoseCatalogue::create);
+    return Map.copyOf(suppliers);
+  }
+
+  /**
+   * Get the catalogue factory of the data source used by the JdbcTemplate. The factory will be
+   * created on first access and reused for all JdbcTemplates using the same data source as long as
+   * it is in use.
+   *
+   * @param jdbcTemplate The JdbcTemplate to be used
+   * @return The catalogue factory
+   */
+  public static DataCatalogueFactory of(final JdbcTemplate jdbcTemplate) {
+    final var dataSource = jdbcTemplate.getDataSource();
+    if (null == dataSource) {
+      return new DataCatalogueFactory(jdbcTemplate);
+    }
+    synchronized (FACTORIES) {
+      final var reference = FACTORIES.get(dataSource);
+      DataCatalogueFactory factory = null == reference ? null : reference.get();
+      if (null == factory) {
+        factory = new DataCatalogueFactory(jdbcTemplate);
+        FACTORIES.put(dataSource, new WeakReference<>(factory));
+      }
+      return factory;
+    }
+  }
+
+  /**
+   * Initializes the global catalogue factory. Subsequent calls will return the first factory and
+   * ignore the given JdbcTemplate.
+   *
+   * @param jdbcTemplate The JdbcTemplate to be used
+   * @return The global catalogue factory
+   * @deprecated Use {@link #of(JdbcTemplate)} to get the factory of a data source
+   */
+  @Deprecated(since = "0.5")
   public static synchronized DataCatalogueFactory initialize(final JdbcTemplate jdbcTemplate) {
     if (null == obj) {
       obj = new DataCatalogueFactory(jdbcTemplate);
@@ -52,6 +134,13 @@ public class DataCatalogueFactory {
     return obj;
   }
 
+  /**
+   * Get the global catalogue factory
+   *
+   * @return The global catalogue factory
+   * @deprecated Use {@link #of(JdbcTemplate)} to get the factory of a data source
+   */
+  @Deprecated(since = "0.5")
   public static synchronized DataCatalogueFactory instance() {
     if (null == obj) {
       throw new IllegalStateException("CatalogueFactory not initialized");
@@ -59,6 +148,39 @@ public class DataCatalogueFactory {
     return obj;
   }
 
+  /**
+   * Sets the JDBC fetch size used by all catalogues of this factory reading procedures and
+   * "Merkmale", including catalogues created later. A value of zero uses the fetch size of the
+   * JdbcTemplate. As the factory is shared, this applies to all users of the same data source.
+   *
+   * @param fetchSize The fetch size
+   * @return The catalogue factory
+   */
+  public DataCatalogueFactory fetchSize(int fetchSize) {
+    if (fetchSize < 0) {
+      throw new IllegalArgumentException("Fetch size must not be negative");
+    }
+    this.fetchSize = fetchSize;
+    return this;
+  }
+
+  /**
+   * Get the JDBC fetch size used by all catalogues of this factory
+   *
+   * @return The fetch size or zero if the fetch size of the JdbcTemplate is used
+   */
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  private DataCatalogue useFetchSize(DataCatalogue catalogue) {
+    if (catalogue instanceof AbstractDataCatalogue) {
+      // Read on each query, so later changes apply to existing catalogues
+      ((AbstractDataCatalogue) catalogue).useFetchSize(this::getFetchSize);
+    }
+    return catalogue;
+  }
+
   /**
    * Get Catalogue of required type
    *
@@ -67,58 +189,21 @@ public class DataCatalogueFactory {
    * @return The catalogue if it exists
    */
   @SuppressWarnings("unchecked")
-  public synchronized <T extends DataCatalogue> T catalogue(Class<T> clazz) {
-    return (T)
-        catalogues.computeIfAbsent(
-            clazz,
-            c -> {
-              if (c == EcogCatalogue.class) {
-                return EcogCatalogue.create(jdbcTemplate);
-              } else if (c == HistologieCatalogue.class) {
-                return HistologieCatalogue.create(jdbcTemplate);
-              } else if (c == KpaCatalogue.class) {
-                return KpaCatalogue.create(jdbcTemplate);
-              } else if (c == PatientCatalogue.class) {
-                return PatientCatalogue.create(jdbcTemplate);
-              } else if (c == ProzedurCatalogue.class) {
-                return ProzedurCatalogue.create(jdbcTemplate);
-              } else if (c == TherapielinieCatalogue.class) {
-                return TherapielinieCatalogue.create(jdbcTemplate);
-              } else if (c == TumorausbreitungCatalogue.class) {
-                return TumorausbreitungCatalogue.create(jdbcTemplate);
-              } else if (c == TumorgradingCatalogue.class) {
-                return TumorgradingCatalogue.create(jdbcTemplate);
-              } else if (c == VerwandteCatalogue.class) {
-                return VerwandteCatalogue.create(jdbcTemplate);
-              } else if (c == VorbefundeCatalogue.class) {
-                return VorbefundeCatalogue.create(jdbcTemplate);
-              } else if (c == TherapieplanCatalogue.class) {
-                return TherapieplanCatalogue.create(jdbcTemplate);
-              } else if (c == EinzelempfehlungCatalogue.class) {
-                return EinzelempfehlungCatalogue.create(jdbcTemplate);
-              } else if (c == MolekulargenetikCatalogue.class) {
-                return MolekulargenetikCatalogue.create(jdbcTemplate);
-              } else if (c == MolekulargenuntersuchungCatalogue.class) {
-                return MolekulargenuntersuchungCatalogue.create(jdbcTemplate);
-              } else if (c == MolekulargenMsiCatalogue.class) {
-                return MolekulargenMsiCatalogue.create(jdbcTemplate);
-              } else if (c == MolekularImmunhistoCatalogue.class) {
-                return MolekularImmunhistoCatalogue.create(jdbcTemplate);
-              } else if (c == MolekularPcrCatalogue.class) {
-                return MolekularPcrCatalogue.create(jdbcTemplate);
-              } else if (c == RebiopsieCatalogue.class) {
-                return RebiopsieCatalogue.create(jdbcTemplate);
-              } else if (c == ReevaluationCatalogue.class) {
-                return ReevaluationCatalogue.create(jdbcTemplate);
-              } else if (c == ConsentMvCatalogue.class) {
-                return ConsentMvCatalogue.create(jdbcTemplate);
-              } else if (c == ConsentMvVerlaufCatalogue.class) {
-                return ConsentMvVerlaufCatalogue.create(jdbcTemplate);
-              } else if (c == KeimbahndiagnoseCatalogue.class) {
-                return KeimbahndiagnoseCatalogue.create(jdbcTemplate);
-              }
-              throw new DataCatalogueCreationException(clazz);
-            });
+  public <T extends DataCatalogue> T catalogue(Class<T> clazz) {
+    // Lock-free for catalogues already created
+    final var catalogue = catalogues.get(clazz);
+    if (null != catalogue) {
+      return (T) catalogue;
+    }
+    return (T) catalogues.computeIfAbsent(clazz, c -> useFetchSize(createCatalogue(c)));
+  }
+
+  private DataCatalogue createCatalogue(Class<? extends DataCatalogue> c) {
+    final var supplier = SUPPLIERS.get(c);
+    if (null == supplier) {
+      throw new DataCatalogueCreationException(c);
+    }
+    return supplier.apply(jdbcTemplate);
   }
 
   /**
@@ -127,7 +212,7 @@ public class DataCatalogueFactory {
    * @param clazz The catalogues class
    * @return true if it is available
    */
-  public synchronized boolean hasCatalogue(Class<? extends DataCatalogue> clazz) {
+  public boolean hasCatalogue(Class<? extends DataCatalogue> clazz) {
     return catalogues.containsKey(clazz);
   }
 }
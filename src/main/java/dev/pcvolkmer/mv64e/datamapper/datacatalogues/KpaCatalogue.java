@@ -21,6 +21,12 @@
 package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
 
 import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import org.jspecify.annotations.NullMarked;
 import org.springframework.jdbc.core.JdbcTemplate;
 
@@ -68,6 +74,29 @@ public class KpaCatalogue extends AbstractDataCatalogue {
     return result.get(0);
   }
 
+  /**
+   * Get procedure database ids of multiple cases using one query per {@link #MAX_IN_LIST_SIZE}
+   * case ids
+   *
+   * @param caseIds The case ids
+   * @return The procedure ids grouped by case id. Cases without any procedure are not contained.
+   */
+  public Map<String, List<Integer>> getProcedureIdsByCaseIds(Collection<String> caseIds) {
+    var result = new HashMap<String, List<Integer>>();
+    for (var chunk : chunked(List.copyOf(new LinkedHashSet<>(caseIds)))) {
+      query(
+          String.format(
+              "SELECT dk_dnpm_kpa.id, dk_dnpm_kpa.fallnummermv FROM dk_dnpm_kpa JOIN prozedur ON (prozedur.id = dk_dnpm_kpa.id) WHERE prozedur.geloescht = 0 AND dk_dnpm_kpa.fallnummermv IN (%s)",
+              placeholders(chunk.size())),
+          rs ->
+              result
+                  .computeIfAbsent(rs.getString("fallnummermv"), key -> new ArrayList<>())
+                  .add(rs.getInt("id")),
+          chunk.toArray());
+    }
+    return result;
+  }
+
   /**
    * Get latest procedure database id by patient id and tumor id
    *
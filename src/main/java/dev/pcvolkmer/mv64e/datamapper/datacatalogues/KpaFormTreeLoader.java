@@ -0,0 +1,158 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.jspecify.annotations.NullMarked;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Loads the form trees of DNPM Klinik/Anamnese procedures into the {@link RowCache} open for the
+ * current thread. A form tree contains the KPA procedure, its sub procedures, related
+ * Therapieplan procedures and their sub procedures.
+ *
+ * <p>All procedure ids of the form tree are queried at once. Each subform table and its "Merkmale"
+ * will then be queried at most once for all parent procedures. Tables will not be queried for
+ * parent procedures without any sub procedure. Procedures not found will be skipped and do not
+ * prevent the form trees of other KPA procedures from being loaded.
+ *
+ * <p>Other sections of an MTB, e.g. Molekulargenetik, are not part of the form tree and will still
+ * be queried per case.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@NullMarked
+public final class KpaFormTreeLoader {
+
+  private static final Logger logger = LoggerFactory.getLogger(KpaFormTreeLoader.class);
+
+  private static final List<Class<? extends AbstractSubformDataCatalogue>> KPA_SUBFORMS =
+      List.of(
+          EcogCatalogue.class,
+          HistologieCatalogue.class,
+          TumorausbreitungCatalogue.class,
+          TumorgradingCatalogue.class,
+          VerwandteCatalogue.class,
+          VorbefundeCatalogue.class,
+          ProzedurCatalogue.class,
+          TherapielinieCatalogue.class,
+          KeimbahndiagnoseCatalogue.class);
+
+  private static final List<Class<? extends AbstractSubformDataCatalogue>> THERAPIEPLAN_SUBFORMS =
+      List.of(
+          EinzelempfehlungCatalogue.class, RebiopsieCatalogue.class, ReevaluationCatalogue.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DataCatalogueFactory catalogueFactory;
+
+  public KpaFormTreeLoader(JdbcTemplate jdbcTemplate, DataCatalogueFactory catalogueFactory) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.catalogueFactory = catalogueFactory;
+  }
+
+  /**
+   * Loads the form tree of the KPA procedure. Does nothing if there is no open row cache. Rows not
+   * loaded due to errors will be read by the data catalogues on access.
+   *
+   * @param kpaId The database id of the KPA procedure
+   */
+  public void load(int kpaId) {
+    load(List.of(kpaId));
+  }
+
+  /**
+   * Loads the form trees of multiple KPA procedures at once. Does nothing if there is no open row
+   * cache. Rows not loaded due to errors will be read by the data catalogues on access.
+   *
+   * @param kpaIds The database ids of the KPA procedures
+   */
+  public void load(Collection<Integer> kpaIds) {
+    var rowCache = RowCache.current().orElse(null);
+    var ids = List.copyOf(new LinkedHashSet<>(kpaIds));
+    if (null == rowCache || ids.isEmpty()) {
+      return;
+    }
+
+    try {
+      var therapieplanIds = new ArrayList<Integer>();
+      var parentIds = new HashSet<Integer>();
+      for (var chunk : AbstractDataCatalogue.chunked(ids)) {
+        var placeholders = AbstractDataCatalogue.placeholders(chunk.size());
+        var args = new ArrayList<Object>(3 * chunk.size());
+        args.addAll(chunk);
+        args.addAll(chunk);
+        args.addAll(chunk);
+        this.jdbcTemplate.query(
+            String.format(
+                "SELECT prozedur.id, prozedur.hauptprozedur_id FROM prozedur WHERE prozedur.geloescht = 0 AND prozedur.hauptprozedur_id IN (%s) "
+                    + " UNION ALL SELECT prozedur.id, NULL FROM dk_dnpm_therapieplan JOIN prozedur ON (prozedur.id = dk_dnpm_therapieplan.id) WHERE prozedur.geloescht = 0 AND ref_dnpm_klinikanamnese IN (%s) "
+                    + " UNION ALL SELECT prozedur.id, prozedur.hauptprozedur_id FROM dk_dnpm_therapieplan JOIN prozedur ON (prozedur.hauptprozedur_id = dk_dnpm_therapieplan.id) WHERE prozedur.geloescht = 0 AND ref_dnpm_klinikanamnese IN (%s)",
+                placeholders,
+                placeholders,
+                placeholders),
+            rs -> {
+              var id = rs.getInt("id");
+              var parentId = rs.getInt("hauptprozedur_id");
+              if (rs.wasNull()) {
+                therapieplanIds.add(id);
+              } else {
+                parentIds.add(parentId);
+              }
+            },
+            args.toArray());
+      }
+
+      catalogueFactory.catalogue(KpaCatalogue.class).preloadByIdList(ids);
+      catalogueFactory.catalogue(TherapieplanCatalogue.class).preloadByIdList(therapieplanIds);
+      loadSubforms(rowCache, KPA_SUBFORMS, ids, parentIds);
+      loadSubforms(rowCache, THERAPIEPLAN_SUBFORMS, therapieplanIds, parentIds);
+    } catch (RuntimeException e) {
+      logger.warn("Cannot load form tree of KPA procedures {}: {}", ids, e.getMessage());
+    }
+  }
+
+  private void loadSubforms(
+      RowCache rowCache,
+      List<Class<? extends AbstractSubformDataCatalogue>> catalogues,
+      List<Integer> ids,
+      Set<Integer> parentIds) {
+    var idsWithSubforms = new ArrayList<Integer>();
+    var idsWithoutSubforms = new ArrayList<Integer>();
+    ids.forEach(id -> (parentIds.contains(id) ? idsWithSubforms : idsWithoutSubforms).add(id));
+
+    for (var clazz : catalogues) {
+      var catalogue = catalogueFactory.catalogue(clazz);
+      if (!idsWithSubforms.isEmpty()) {
+        catalogue.getAllByParentIds(idsWithSubforms);
+      }
+      idsWithoutSubforms.forEach(
+          id -> rowCache.putRowsByParentId(catalogue, id, List.of()));
+    }
+  }
+}
@@ -136,7 +136,7 @@ public class MolekulargenetikCatalogue extends AbstractDataCatalogue {
    */
   public ResultSet getByEinsendenummer(String einsendenummer) {
     var result =
-        this.jdbcTemplate.queryForList(
+        queryForResultSets(
             String.format(
                 "SELECT patient.patienten_id, %s.*, prozedur.* FROM %s JOIN prozedur ON (prozedur.id = %s.id) JOIN patient ON (patient.id = prozedur.patient_id) WHERE geloescht = 0 AND %s.einsendenummer = ?",
                 getTableName(), getTableName(), getTableName(), getTableName()),
@@ -148,7 +148,7 @@ public class MolekulargenetikCatalogue extends AbstractDataCatalogue {
       throw new DataAccessException("Multiple records found for einsendenummer: " + einsendenummer);
     }
 
-    var resultSet = ResultSet.from(result.get(0));
+    var resultSet = result.get(0);
 
     if (resultSet.getRawData().containsKey("id")) {
       var merkmale = getMerkmaleById(resultSet.getId());
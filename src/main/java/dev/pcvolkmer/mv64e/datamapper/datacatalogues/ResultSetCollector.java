@@ -0,0 +1,81 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
+
+import dev.pcvolkmer.mv64e.datamapper.ColumnDictionary;
+import dev.pcvolkmer.mv64e.datamapper.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.JdbcUtils;
+
+/**
+ * Reads JDBC rows directly into array backed result sets. Column names are read once from result
+ * set metadata and shared by all rows, so no intermediate map per row is created. Values are read
+ * using {@link JdbcUtils#getResultSetValue(java.sql.ResultSet, int)}, so value types are the same
+ * as returned by {@code JdbcTemplate.queryForList()}.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@NullMarked
+final class ResultSetCollector implements RowCallbackHandler {
+
+  private final List<ResultSet> resultSets = new ArrayList<>();
+  private @Nullable ColumnDictionary columns;
+
+  @Override
+  public void processRow(java.sql.ResultSet rs) throws SQLException {
+    var columns = this.columns;
+    if (null == columns) {
+      columns = readColumns(rs);
+    }
+    final var values = new Object[columns.size()];
+    for (var i = 0; i < values.length; i++) {
+      values[i] = JdbcUtils.getResultSetValue(rs, i + 1);
+    }
+    resultSets.add(ResultSet.from(columns, values));
+  }
+
+  /**
+   * Get all result sets read so far
+   *
+   * @return The result sets in order of the rows
+   */
+  List<ResultSet> getResultSets() {
+    return resultSets;
+  }
+
+  private ColumnDictionary readColumns(java.sql.ResultSet rs) throws SQLException {
+    final var metaData = rs.getMetaData();
+    final var columnCount = metaData.getColumnCount();
+    final var names = new ArrayList<String>(columnCount);
+    for (var i = 0; i < columnCount; i++) {
+      names.add(JdbcUtils.lookupColumnName(metaData, i + 1));
+    }
+    final var columns = ColumnDictionary.of(names);
+    this.columns = columns;
+    return columns;
+  }
+}
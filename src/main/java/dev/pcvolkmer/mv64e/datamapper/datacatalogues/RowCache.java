@@ -0,0 +1,305 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
+
+import dev.pcvolkmer.mv64e.datamapper.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Export scoped cache of rows read by data catalogues. While a row cache is open for the current
+ * thread, rows are identified by data source, table name and procedure id and each row will be read
+ * from database at most once. Rows are discarded when the row cache is closed.
+ *
+ * <p>Usage:
+ *
+ * <pre>{@code
+ * try (var rowCache = RowCache.open()) {
+ *   // All data catalogue reads use the row cache
+ * }
+ * }</pre>
+ *
+ * <p>Opening a row cache while one is already open for the current thread will join the existing
+ * one. Closing the joined row cache will not discard any rows. Worker threads mapping parts of the
+ * same export can use {@link #attach()} to share the row cache. Data mappers can use {@link
+ * #getMapped(Class, int, IntFunction)} to map a value at most once per row cache. Values mapped
+ * while a joined row cache is open are not shared with the existing one, e.g. to map each case of
+ * an export separately.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@NullMarked
+public final class RowCache implements AutoCloseable {
+
+  private static final ThreadLocal<@Nullable RowCache> CURRENT = new ThreadLocal<>();
+
+  private final Map<Key, ResultSet> rows;
+  private final Map<Key, List<ResultSet>> rowsByParentId;
+  private final Map<Key, Optional<?>> mapped;
+  private final boolean owner;
+  private final boolean attached;
+  private final @Nullable RowCache joined;
+
+  private RowCache(
+      Map<Key, ResultSet> rows,
+      Map<Key, List<ResultSet>> rowsByParentId,
+      Map<Key, Optional<?>> mapped,
+      boolean owner,
+      boolean attached,
+      @Nullable RowCache joined) {
+    this.rows = rows;
+    this.rowsByParentId = rowsByParentId;
+    this.mapped = mapped;
+    this.owner = owner;
+    this.attached = attached;
+    this.joined = joined;
+  }
+
+  /**
+   * Opens a row cache for the current thread or joins the row cache already open. A joined row
+   * cache shares all rows but uses its own mapped values until it is closed.
+   *
+   * @return The row cache to be closed after use
+   */
+  public static RowCache open() {
+    final var current = CURRENT.get();
+    final var rowCache =
+        null == current
+            ? new RowCache(
+                new ConcurrentHashMap<>(),
+                new ConcurrentHashMap<>(),
+                new ConcurrentHashMap<>(),
+                true,
+                false,
+                null)
+            : new RowCache(
+                current.rows,
+                current.rowsByParentId,
+                new ConcurrentHashMap<>(),
+                false,
+                false,
+                current);
+    CURRENT.set(rowCache);
+    return rowCache;
+  }
+
+  /**
+   * Attaches this row cache to the current thread, e.g. a worker thread mapping a part of the same
+   * export. Closing the attached row cache will detach it without discarding any rows. If a row
+   * cache is already open for the current thread, that one will be joined instead.
+   *
+   * @return The attached row cache to be closed after use
+   */
+  public RowCache attach() {
+    final var current = CURRENT.get();
+    if (null != current) {
+      return new RowCache(current.rows, current.rowsByParentId, current.mapped, false, false, null);
+    }
+    final var rowCache = new RowCache(rows, rowsByParentId, mapped, false, true, null);
+    CURRENT.set(rowCache);
+    return rowCache;
+  }
+
+  /**
+   * Returns the row cache open for the current thread
+   *
+   * @return An optional containing the row cache or an empty optional if no row cache is open
+   */
+  static Optional<RowCache> current() {
+    return Optional.ofNullable(CURRENT.get());
+  }
+
+  /**
+   * Returns the row from the row cache open for the current thread or loads it. If no row cache is
+   * open, the row will always be loaded.
+   *
+   * @param catalogue The catalogue reading the row
+   * @param id The procedure id
+   * @param loader The loader to be used if the row is not in cache
+   * @return The row
+   */
+  static ResultSet getRow(AbstractDataCatalogue catalogue, int id, IntFunction<ResultSet> loader) {
+    final var rowCache = CURRENT.get();
+    if (null == rowCache) {
+      return loader.apply(id);
+    }
+    final var key = Key.of(catalogue, id);
+    final var cached = rowCache.rows.get(key);
+    if (null != cached) {
+      return cached;
+    }
+    // Load without holding a lock, another thread may have loaded the row in the meantime
+    final var loaded = loader.apply(id);
+    final var existing = rowCache.rows.putIfAbsent(key, loaded);
+    return null == existing ? loaded : existing;
+  }
+
+  /**
+   * Returns the rows of sub procedures from the row cache open for the current thread or loads
+   * them. Loaded rows will also be available by their own procedure id.
+   *
+   * @param catalogue The catalogue reading the rows
+   * @param parentId The parent procedure id
+   * @param loader The loader to be used if the rows are not in cache
+   * @return The rows
+   */
+  static List<ResultSet> getRowsByParentId(
+      AbstractDataCatalogue catalogue, int parentId, IntFunction<List<ResultSet>> loader) {
+    final var rowCache = CURRENT.get();
+    if (null == rowCache) {
+      return loader.apply(parentId);
+    }
+    final var key = Key.of(catalogue, parentId);
+    final var cached = rowCache.rowsByParentId.get(key);
+    if (null != cached) {
+      return cached;
+    }
+    return rowCache.putRowsByParentId(catalogue, parentId, loader.apply(parentId));
+  }
+
+  /**
+   * Returns the value mapped by a data mapper from the row cache open for the current thread or
+   * maps it. Mapped values are identified by data mapper class, the data source of the catalogue
+   * used by the data mapper and procedure id, so each value will be mapped at most once per row
+   * cache. If no row cache is open, the value will always be mapped.
+   *
+   * <p>Mapped values are shared across all sections using the row cache and must not be modified.
+   *
+   * @param mapper The class of the data mapper
+   * @param catalogue The catalogue used by the data mapper to read the procedure
+   * @param id The procedure id
+   * @param mappingFunction The mapping function to be used if the value is not in cache
+   * @return The mapped value
+   * @param <T> The type of the mapped value
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> @Nullable T getMapped(
+      Class<?> mapper,
+      AbstractDataCatalogue catalogue,
+      int id,
+      IntFunction<? extends @Nullable T> mappingFunction) {
+    final var rowCache = CURRENT.get();
+    if (null == rowCache) {
+      return mappingFunction.apply(id);
+    }
+    final var key = new Key(Key.source(catalogue), mapper.getName(), id);
+    final var cached = rowCache.mapped.get(key);
+    if (null != cached) {
+      return (T) cached.orElse(null);
+    }
+    // Map without holding a lock, as mapping may require other mapped values
+    final var value = Optional.ofNullable(mappingFunction.apply(id));
+    final var existing = rowCache.mapped.putIfAbsent(key, value);
+    return (T) (null == existing ? value : existing).orElse(null);
+  }
+
+  @Nullable ResultSet getRow(AbstractDataCatalogue catalogue, int id) {
+    return rows.get(Key.of(catalogue, id));
+  }
+
+  @Nullable List<ResultSet> getRowsByParentId(AbstractDataCatalogue catalogue, int parentId) {
+    return rowsByParentId.get(Key.of(catalogue, parentId));
+  }
+
+  List<ResultSet> putRowsByParentId(
+      AbstractDataCatalogue catalogue, int parentId, List<ResultSet> rows) {
+    final var copy = List.copyOf(rows);
+    copy.forEach(
+        row -> {
+          final var id = row.getInteger("id");
+          if (null != id) {
+            putRow(catalogue, id, row);
+          }
+        });
+    final var existing = rowsByParentId.putIfAbsent(Key.of(catalogue, parentId), copy);
+    return null == existing ? copy : existing;
+  }
+
+  void putRow(AbstractDataCatalogue catalogue, int id, ResultSet row) {
+    rows.putIfAbsent(Key.of(catalogue, id), row);
+  }
+
+  /**
+   * Closes the row cache and discards all rows, if not joined to an existing row cache. Joined row
+   * caches will discard their mapped values and restore the existing row cache. Attached row caches
+   * will be detached from the current thread only.
+   */
+  @Override
+  public void close() {
+    if (owner) {
+      rows.clear();
+      rowsByParentId.clear();
+      mapped.clear();
+      CURRENT.remove();
+    } else if (null != joined) {
+      mapped.clear();
+      CURRENT.set(joined);
+    } else if (attached) {
+      CURRENT.remove();
+    }
+  }
+
+  private static final class Key {
+    // Rows of different Onkostar databases must not be mixed up
+    private final Object source;
+    private final String name;
+    private final int id;
+
+    private Key(Object source, String name, int id) {
+      this.source = source;
+      this.name = name;
+      this.id = id;
+    }
+
+    private static Key of(AbstractDataCatalogue catalogue, int id) {
+      return new Key(source(catalogue), catalogue.getTableName(), id);
+    }
+
+    private static Object source(AbstractDataCatalogue catalogue) {
+      final var dataSource = catalogue.jdbcTemplate.getDataSource();
+      return null == dataSource ? catalogue.jdbcTemplate : dataSource;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      final var key = (Key) o;
+      return id == key.id && source == key.source && name.equals(key.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(source), name, id);
+    }
+  }
+}
@@ -27,7 +27,34 @@ package dev.pcvolkmer.mv64e.datamapper.exceptions;
  * @since 0.2
  */
 public class IgnorableMappingException extends RuntimeException {
+
+  private static volatile boolean stackTraceEnabled = true;
+
   public IgnorableMappingException(String message) {
-    super(message);
+    super(message, null, true, stackTraceEnabled);
+  }
+
+  /**
+   * Enables or disables stack traces of exceptions created afterwards. These exceptions are thrown
+   * routinely for incomplete forms, so disabling stack traces avoids walking the stack on each of
+   * them. The message of a stackless exception is still available.
+   *
+   * <p>This setting applies to all exceptions of this type within the JVM.
+   *
+   * @param enabled false to create stackless exceptions
+   * @since 0.5
+   */
+  public static void setStackTraceEnabled(boolean enabled) {
+    stackTraceEnabled = enabled;
+  }
+
+  /**
+   * Checks if stack traces are enabled for exceptions created afterwards
+   *
+   * @return true if stack traces are enabled
+   * @since 0.5
+   */
+  public static boolean isStackTraceEnabled() {
+    return stackTraceEnabled;
   }
 }
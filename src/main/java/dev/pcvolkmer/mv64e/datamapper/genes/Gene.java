@@ -38,6 +38,8 @@ import java.util.stream.Collectors;
 // https://github.com/pcvolkmer/onkostar-plugin-genes/blob/master/api/src/main/java/dev/pcvolkmer/onkostar/genes/Gene.java
 public class Gene {
 
+  private static final Pattern CHROMOSOME_PATTERN = Pattern.compile("^(\\d+|X|Y)");
+
   private final String hgncId;
 
   private final String ensembleId;
@@ -48,12 +50,26 @@ public class Gene {
 
   private final String chromosome;
 
+  // Parsed once on creation, since required for every variant
+  private final List<Chromosome> chromosomesInPropertyForm;
+
   Gene(String hgncId, String ensembleId, String symbol, String name, String chromosome) {
+    this(hgncId, ensembleId, symbol, name, chromosome, parseChromosomes(chromosome));
+  }
+
+  Gene(
+      String hgncId,
+      String ensembleId,
+      String symbol,
+      String name,
+      String chromosome,
+      List<Chromosome> chromosomesInPropertyForm) {
     this.hgncId = hgncId;
     this.ensembleId = ensembleId;
     this.symbol = symbol;
     this.name = name;
     this.chromosome = chromosome;
+    this.chromosomesInPropertyForm = chromosomesInPropertyForm;
   }
 
   /**
@@ -107,12 +123,34 @@ public class Gene {
    * @return a list of chromosomes
    */
   public List<Chromosome> getChromosomesInPropertyForm() {
-    return Arrays.stream(this.chromosome.split(" "))
+    return chromosomesInPropertyForm;
+  }
+
+  /**
+   * Returns a chromosome using form 'chr...?' if one (single) chromosome listed
+   *
+   * @return an <code>Optional</code> containing the chromosome
+   */
+  public Optional<Chromosome> getSingleChromosomeInPropertyForm() {
+    if (chromosomesInPropertyForm.size() == 1) {
+      return Optional.of(chromosomesInPropertyForm.get(0));
+    }
+
+    return Optional.empty();
+  }
+
+  /**
+   * Parses chromosome(s) as listed in gene list into a list of chromosomes using form 'chr?'
+   *
+   * @param chromosome The chromosome(s) as listed in gene list
+   * @return an unmodifiable list of chromosomes
+   */
+  static List<Chromosome> parseChromosomes(String chromosome) {
+    return Arrays.stream(chromosome.split(" "))
         .map(
             value -> {
               try {
-                var pattern = Pattern.compile("^(\\d+|X|Y)");
-                var matcher = pattern.matcher(value);
+                var matcher = CHROMOSOME_PATTERN.matcher(value);
                 if (matcher.find()) {
                   return Chromosome.forValue(String.format("chr%s", matcher.group(0)));
                 }
@@ -122,22 +160,7 @@ public class Gene {
               return null;
             })
         .filter(Objects::nonNull)
-        .collect(Collectors.toList());
-  }
-
-  /**
-   * Returns a chromosome using form 'chr...?' if one (single) chromosome listed
-   *
-   * @return an <code>Optional</code> containing the chromosome
-   */
-  public Optional<Chromosome> getSingleChromosomeInPropertyForm() {
-    var fixedChromosomes = this.getChromosomesInPropertyForm();
-
-    if (fixedChromosomes.size() == 1) {
-      return Optional.of(fixedChromosomes.get(0));
-    }
-
-    return Optional.empty();
+        .collect(Collectors.toUnmodifiableList());
   }
 
   @Override
@@ -0,0 +1,174 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.genes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.apache.commons.csv.CSVFormat;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gene catalogue parsed once from the bundled gene list. Provides hash indexes by HGNC ID, symbol
+ * and Ensembl ID. Keys are case-folded, so lookups are case-insensitive.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+final class GeneCatalogue implements GeneSource {
+
+  private static final Logger logger = LoggerFactory.getLogger(GeneCatalogue.class);
+
+  private final Map<String, Gene> byHgncId;
+  private final Map<String, Gene> bySymbol;
+  private final Map<String, Gene> byEnsemblId;
+
+  private GeneCatalogue(
+      Map<String, Gene> byHgncId, Map<String, Gene> bySymbol, Map<String, Gene> byEnsemblId) {
+    this.byHgncId = byHgncId;
+    this.bySymbol = bySymbol;
+    this.byEnsemblId = byEnsemblId;
+  }
+
+  /**
+   * Returns the catalogue of the bundled gene list. The list is parsed on first access only.
+   *
+   * @return The gene catalogue
+   */
+  static GeneCatalogue bundled() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Parses a gene list in tab separated HGNC download format
+   *
+   * @param inputStream The input stream to read from
+   * @return The gene catalogue
+   * @throws IOException if the gene list cannot be read
+   */
+  static GeneCatalogue parse(InputStream inputStream) throws IOException {
+    // Initial capacity for about 44k genes in current gene list
+    var byHgncId = new HashMap<String, Gene>(65536);
+    var bySymbol = new HashMap<String, Gene>(65536);
+    var byEnsemblId = new HashMap<String, Gene>(65536);
+    var dictionary = new GeneDictionary();
+
+    try {
+      var parser =
+          CSVFormat.RFC4180
+              .builder()
+              .setHeader()
+              .setSkipHeaderRecord(true)
+              .setDelimiter('\t')
+              .build()
+              .parse(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+      for (var row : parser) {
+        var gene =
+            dictionary.gene(
+                row.get("HGNC ID"),
+                row.get("Ensembl ID(supplied by Ensembl)"),
+                row.get("Approved symbol"),
+                row.get("Approved name"),
+                row.get("Chromosome"));
+        // Keep first gene in list on duplicate keys
+        byHgncId.putIfAbsent(key(gene.getHgncId()), gene);
+        bySymbol.putIfAbsent(key(gene.getSymbol()), gene);
+        if (!gene.getEnsemblId().isBlank()) {
+          byEnsemblId.putIfAbsent(key(gene.getEnsemblId()), gene);
+        }
+      }
+    } catch (NoSuchMethodError e) {
+      logger.error(
+          "CSVFormat.get() not found! VERSION: {}",
+          org.apache.commons.csv.CSVFormat.class.getPackage().getImplementationVersion(),
+          e);
+      throw e;
+    }
+
+    return new GeneCatalogue(byHgncId, bySymbol, byEnsemblId);
+  }
+
+  /**
+   * Returns an empty catalogue
+   *
+   * @return The empty catalogue
+   */
+  static GeneCatalogue empty() {
+    return new GeneCatalogue(Map.of(), Map.of(), Map.of());
+  }
+
+  @Override
+  public Optional<Gene> findByHgncId(@Nullable String hgncId) {
+    if (null == hgncId) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(byHgncId.get(key(hgncId)));
+  }
+
+  @Override
+  public Optional<Gene> findBySymbol(@Nullable String symbol) {
+    if (null == symbol) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(bySymbol.get(key(symbol)));
+  }
+
+  @Override
+  public Optional<Gene> findByEnsemblId(@Nullable String ensemblId) {
+    if (null == ensemblId) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(byEnsemblId.get(key(ensemblId)));
+  }
+
+  @Override
+  public int size() {
+    return byHgncId.size();
+  }
+
+  private static String key(String value) {
+    return value.toUpperCase(Locale.ROOT);
+  }
+
+  // Initialization-on-demand holder: Parsed once per classloader on first access
+  private static final class Holder {
+    private static final GeneCatalogue INSTANCE = load();
+
+    private static GeneCatalogue load() {
+      try (var inputStream =
+          Objects.requireNonNull(
+              GeneCatalogue.class.getClassLoader().getResourceAsStream("genes.csv"))) {
+        return parse(inputStream);
+      } catch (IOException e) {
+        logger.error("Cannot read bundled gene list", e);
+        return empty();
+      }
+    }
+  }
+}
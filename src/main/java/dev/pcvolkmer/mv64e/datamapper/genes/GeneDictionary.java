@@ -0,0 +1,78 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.genes;
+
+import dev.pcvolkmer.mv64e.mtb.Chromosome;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary to create genes sharing repeated values. About 44k genes in gene list are located on
+ * less than 1.500 distinct chromosome locations, so location strings and their parsed chromosomes
+ * are stored once and shared by all genes at the same location. HGNC IDs, Ensembl IDs, symbols and
+ * names are stored once as well, so genes materialized repeatedly by lookups in a gene index share
+ * their strings.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+final class GeneDictionary {
+
+  private final Map<String, Location> locations = new ConcurrentHashMap<>();
+  private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new gene using shared strings and chromosome location values
+   *
+   * @param hgncId The HGNC ID
+   * @param ensemblId The Ensembl ID
+   * @param symbol The gene symbol
+   * @param name The gene name
+   * @param chromosome The chromosome(s) as listed in gene list
+   * @return The gene
+   */
+  Gene gene(String hgncId, String ensemblId, String symbol, String name, String chromosome) {
+    final var location = locations.computeIfAbsent(chromosome, Location::new);
+    return new Gene(
+        intern(hgncId),
+        intern(ensemblId),
+        intern(symbol),
+        intern(name),
+        location.value,
+        location.chromosomes);
+  }
+
+  private String intern(String value) {
+    final var existing = strings.putIfAbsent(value, value);
+    return null == existing ? value : existing;
+  }
+
+  private static final class Location {
+    private final String value;
+    private final List<Chromosome> chromosomes;
+
+    private Location(String value) {
+      this.value = value;
+      this.chromosomes = Gene.parseChromosomes(value);
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.genes;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * External gene file to be used instead of the bundled gene list. The file is either a gene list in
+ * tab separated HGNC download format, like the bundled one, or a binary gene index created by
+ * Gradle task {@code generateGeneIndex}.
+ *
+ * <p>The file is loaded in background into a new gene source, which replaces the previous one
+ * atomically after loading has been completed. Lookups are never blocked by loading a gene file.
+ * If the file cannot be loaded, the previous gene source will be kept.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+final class GeneFile {
+
+  private static final Logger logger = LoggerFactory.getLogger(GeneFile.class);
+
+  // Single loader thread: Reloads are serialized and never run concurrently
+  private static final ExecutorService LOADER =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            final var thread = new Thread(runnable, "gene-file-loader");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final Path path;
+  private final AtomicReference<@Nullable GeneSource> source;
+  private final AtomicReference<CompletableFuture<Void>> pending =
+      new AtomicReference<>(CompletableFuture.completedFuture(null));
+
+  // Written by loader thread only: Modification time of the gene file at the last load attempt
+  private volatile @Nullable FileTime lastModified;
+  private volatile boolean attempted;
+
+  /**
+   * Creates a gene file not loaded yet
+   *
+   * @param path The path of the gene file
+   * @param initial The gene source to be used until the gene file has been loaded
+   */
+  GeneFile(Path path, @Nullable GeneSource initial) {
+    this.path = path;
+    this.source = new AtomicReference<>(initial);
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  /**
+   * Returns the gene source of the last successfully loaded gene file or the initial gene source
+   *
+   * @return An optional containing the gene source or an empty optional if not available
+   */
+  Optional<GeneSource> source() {
+    return Optional.ofNullable(source.get());
+  }
+
+  /**
+   * Reloads the gene file in background if it has been modified since last load attempt. If a
+   * reload is already pending, no additional reload will be requested. Checking for modifications
+   * is done in the calling thread, so unmodified gene files will not schedule any reload.
+   *
+   * @return A future completed after the gene file has been checked and loaded if required
+   */
+  CompletableFuture<Void> refresh() {
+    final var current = pending.get();
+    if (!current.isDone() || !isModified()) {
+      return current;
+    }
+    final var next = new CompletableFuture<Void>();
+    if (!pending.compareAndSet(current, next)) {
+      // Another caller requested a reload in the meantime
+      return pending.get();
+    }
+    LOADER.execute(
+        () -> {
+          try {
+            reloadIfModified();
+          } finally {
+            next.complete(null);
+          }
+        });
+    return next;
+  }
+
+  private boolean isModified() {
+    if (!attempted) {
+      return true;
+    }
+    try {
+      return !Files.getLastModifiedTime(path).equals(lastModified);
+    } catch (IOException e) {
+      // Error has been logged on load attempt, keep previous genes
+      return false;
+    }
+  }
+
+  private void reloadIfModified() {
+    attempted = true;
+    try {
+      final var modified = Files.getLastModifiedTime(path);
+      if (modified.equals(lastModified)) {
+        return;
+      }
+      // Do not retry loading an invalid gene file until it has been modified
+      lastModified = modified;
+      final var loaded = load(Files.readAllBytes(path));
+      if (loaded.size() == 0) {
+        logger.error("Gene file {} contains no genes - keeping previous genes", path);
+        return;
+      }
+      source.set(loaded);
+      logger.info("Loaded {} genes from gene file {}", loaded.size(), path);
+    } catch (IOException | RuntimeException e) {
+      logger.error("Cannot load gene file {} - keeping previous genes", path, e);
+    }
+  }
+
+  private static GeneSource load(byte[] bytes) throws IOException {
+    // Content is read into memory, the file may be replaced while in use
+    if (bytes.length >= 4 && ByteBuffer.wrap(bytes).getInt(0) == GeneIndex.MAGIC) {
+      return GeneIndex.read(new ByteArrayInputStream(bytes));
+    }
+    return GeneCatalogue.parse(new ByteArrayInputStream(bytes));
+  }
+}
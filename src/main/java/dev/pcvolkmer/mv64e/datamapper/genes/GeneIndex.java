@@ -0,0 +1,200 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.genes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binary gene index created at build time from the bundled gene list by Gradle task {@code
+ * generateGeneIndex}. The index contains sorted lookup tables and offsets to the gene records, so
+ * lookups are done using binary search and only the genes found will be materialized.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+final class GeneIndex implements GeneSource {
+
+  static final String RESOURCE_NAME = "genes.idx";
+
+  private static final Logger logger = LoggerFactory.getLogger(GeneIndex.class);
+
+  static final int MAGIC = 0x474E4958;
+  private static final int VERSION = 1;
+
+  private static final int HGNC_ID = 0;
+  private static final int ENSEMBL_ID = 1;
+  private static final int SYMBOL = 2;
+  private static final int NAME = 3;
+  private static final int CHROMOSOME = 4;
+
+  private final GeneDictionary dictionary = new GeneDictionary();
+  private final ByteBuffer buffer;
+  private final int count;
+  private final int offsetsPosition;
+  private final int symbolOrderPosition;
+  private final int hgncIdOrderPosition;
+  private final int ensemblIdOrderPosition;
+  private final int dataPosition;
+
+  private GeneIndex(ByteBuffer buffer) throws IOException {
+    if (buffer.limit() < 12 || buffer.getInt(0) != MAGIC) {
+      throw new IOException("Not a gene index");
+    }
+    if (buffer.getInt(4) != VERSION) {
+      throw new IOException("Unsupported gene index version " + buffer.getInt(4));
+    }
+    this.buffer = buffer;
+    this.count = buffer.getInt(8);
+    this.offsetsPosition = 12;
+    this.symbolOrderPosition = offsetsPosition + 4 * count;
+    this.hgncIdOrderPosition = symbolOrderPosition + 4 * count;
+    this.ensemblIdOrderPosition = hgncIdOrderPosition + 4 * count;
+    // Skip data length
+    this.dataPosition = ensemblIdOrderPosition + 4 * count + 4;
+    if (dataPosition + buffer.getInt(dataPosition - 4) != buffer.limit()) {
+      throw new IOException("Gene index is truncated");
+    }
+  }
+
+  /**
+   * Returns the bundled gene index if available
+   *
+   * @return An optional containing the gene index or an empty optional if not available
+   */
+  static Optional<GeneIndex> bundled() {
+    try (var inputStream = GeneIndex.class.getClassLoader().getResourceAsStream(RESOURCE_NAME)) {
+      if (null == inputStream) {
+        return Optional.empty();
+      }
+      return Optional.of(read(inputStream));
+    } catch (IOException e) {
+      logger.warn("Cannot read bundled gene index", e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Reads the gene index by loading all bytes into memory
+   *
+   * @param inputStream The input stream to read from
+   * @return The gene index
+   * @throws IOException if the gene index cannot be read
+   */
+  static GeneIndex read(InputStream inputStream) throws IOException {
+    return new GeneIndex(ByteBuffer.wrap(inputStream.readAllBytes()));
+  }
+
+  /**
+   * Maps a gene index file into memory
+   *
+   * @param path The path of the gene index file
+   * @return The gene index
+   * @throws IOException if the gene index cannot be read
+   */
+  static GeneIndex map(Path path) throws IOException {
+    try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new GeneIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  @Override
+  public Optional<Gene> findByHgncId(@Nullable String hgncId) {
+    return find(hgncIdOrderPosition, HGNC_ID, hgncId);
+  }
+
+  @Override
+  public Optional<Gene> findBySymbol(@Nullable String symbol) {
+    return find(symbolOrderPosition, SYMBOL, symbol);
+  }
+
+  @Override
+  public Optional<Gene> findByEnsemblId(@Nullable String ensemblId) {
+    if (null == ensemblId || ensemblId.isBlank()) {
+      return Optional.empty();
+    }
+    return find(ensemblIdOrderPosition, ENSEMBL_ID, ensemblId);
+  }
+
+  @Override
+  public int size() {
+    return count;
+  }
+
+  private Optional<Gene> find(int orderPosition, int field, @Nullable String value) {
+    if (null == value) {
+      return Optional.empty();
+    }
+    final var key = value.toUpperCase(Locale.ROOT);
+    var low = 0;
+    var high = count - 1;
+    var found = -1;
+    // Find leftmost match to return first gene in list on equal keys
+    while (low <= high) {
+      final var mid = (low + high) >>> 1;
+      final var record = buffer.getInt(orderPosition + 4 * mid);
+      final var comparison = readField(record, field).toUpperCase(Locale.ROOT).compareTo(key);
+      if (comparison < 0) {
+        low = mid + 1;
+      } else if (comparison > 0) {
+        high = mid - 1;
+      } else {
+        found = record;
+        high = mid - 1;
+      }
+    }
+    if (found < 0) {
+      return Optional.empty();
+    }
+    return Optional.of(gene(found));
+  }
+
+  private Gene gene(int record) {
+    return dictionary.gene(
+        readField(record, HGNC_ID),
+        readField(record, ENSEMBL_ID),
+        readField(record, SYMBOL),
+        readField(record, NAME),
+        readField(record, CHROMOSOME));
+  }
+
+  private String readField(int record, int field) {
+    var position = dataPosition + buffer.getInt(offsetsPosition + 4 * record);
+    for (var i = 0; i < field; i++) {
+      position += 2 + Short.toUnsignedInt(buffer.getShort(position));
+    }
+    final var length = Short.toUnsignedInt(buffer.getShort(position));
+    final var bytes = new byte[length];
+    // Use duplicate to keep shared buffer position untouched and allow concurrent lookups
+    buffer.duplicate().position(position + 2).get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.genes;
+
+import java.util.Optional;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Common interface for indexed gene sources
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+interface GeneSource {
+
+  /**
+   * Find gene by HGNC ID (case-insensitive)
+   *
+   * @param hgncId The HGNC ID
+   * @return An optional containing the gene if found or an empty optional if value is null
+   */
+  Optional<Gene> findByHgncId(@Nullable String hgncId);
+
+  /**
+   * Find gene by symbol (case-insensitive)
+   *
+   * @param symbol The gene symbol
+   * @return An optional containing the gene if found or an empty optional if value is null
+   */
+  Optional<Gene> findBySymbol(@Nullable String symbol);
+
+  /**
+   * Find gene by Ensembl ID (case-insensitive)
+   *
+   * @param ensemblId The Ensembl ID
+   * @return An optional containing the gene if found or an empty optional if value is null
+   */
+  Optional<Gene> findByEnsemblId(@Nullable String ensemblId);
+
+  /**
+   * Returns the number of genes available in this source
+   *
+   * @return The number of genes
+   */
+  int size();
+}
@@ -21,15 +21,16 @@
 package dev.pcvolkmer.mv64e.datamapper.genes;
 
 import dev.pcvolkmer.mv64e.mtb.Coding;
-import java.io.IOException;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import org.apache.commons.csv.CSVFormat;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import org.jspecify.annotations.Nullable;
 
 /**
  * Utility class for genes
@@ -39,19 +40,69 @@ import org.slf4j.LoggerFactory;
  */
 public class GeneUtils {
 
-  private static final Logger logger = LoggerFactory.getLogger(GeneUtils.class);
+  private static final AtomicReference<@Nullable GeneFile> geneFile = new AtomicReference<>();
 
   private GeneUtils() {
     // Empty
   }
 
-  public static Optional<Gene> findByHgncId(String hgncId) {
-    return genes().stream().filter(gene -> gene.getHgncId().equalsIgnoreCase(hgncId)).findFirst();
+  /**
+   * Find gene by HGNC ID (case-insensitive)
+   *
+   * @param hgncId The HGNC ID
+   * @return An optional containing the gene if found or an empty optional if value is null
+   */
+  public static Optional<Gene> findByHgncId(@Nullable String hgncId) {
+    return source().findByHgncId(hgncId);
   }
 
-  public static Optional<Gene> findBySymbol(String symbol) {
-    final var result =
-        genes().stream().filter(gene -> gene.getSymbol().equalsIgnoreCase(symbol)).findFirst();
+  /**
+   * Find gene by symbol (case-insensitive). If no gene was found, the symbol will be cleaned of all
+   * whitespaces and lookup will be retried.
+   *
+   * @param symbol The gene symbol
+   * @return An optional containing the gene if found or an empty optional if value is null
+   */
+  public static Optional<Gene> findBySymbol(@Nullable String symbol) {
+    return findBySymbol(source(), symbol);
+  }
+
+  /**
+   * Find genes by symbols (case-insensitive) in one pass. Like {@link #findBySymbol(String)}, a
+   * symbol will be cleaned of all whitespaces and lookup will be retried if no gene was found.
+   *
+   * @param symbols The gene symbols
+   * @return A map containing the requested symbols and related genes. Symbols without related gene
+   *     are not included.
+   */
+  public static Map<String, Gene> findAllBySymbols(Collection<String> symbols) {
+    final var source = source();
+    final var result = new HashMap<String, Gene>();
+    final var requested = new HashSet<String>();
+    for (var symbol : symbols) {
+      // Lookup each distinct symbol only once
+      if (requested.add(symbol)) {
+        findBySymbol(source, symbol).ifPresent(gene -> result.put(symbol, gene));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Find gene by Ensembl ID (case-insensitive)
+   *
+   * @param ensemblId The Ensembl ID
+   * @return An optional containing the gene if found or an empty optional if value is null
+   */
+  public static Optional<Gene> findByEnsemblId(@Nullable String ensemblId) {
+    return source().findByEnsemblId(ensemblId);
+  }
+
+  private static Optional<Gene> findBySymbol(GeneSource source, @Nullable String symbol) {
+    if (null == symbol) {
+      return Optional.empty();
+    }
+    final var result = source.findBySymbol(symbol);
     if (result.isPresent()) {
       return result;
     }
@@ -59,7 +110,58 @@ public class GeneUtils {
     if (cleanedSymbol.equals(symbol)) {
       return Optional.empty();
     }
-    return findBySymbol(cleanedSymbol);
+    return source.findBySymbol(cleanedSymbol);
+  }
+
+  /**
+   * Uses an external gene file instead of the bundled gene list. The file is loaded in background
+   * and will replace the genes in use atomically. Until the file has been loaded, the genes
+   * previously in use will be used.
+   *
+   * @param path The path of the gene file, or {@code null} to use the bundled gene list only
+   * @return A future completed after the gene file has been loaded
+   */
+  public static CompletableFuture<Void> useGeneFile(@Nullable Path path) {
+    if (null == path) {
+      geneFile.set(null);
+      return CompletableFuture.completedFuture(null);
+    }
+    final var updated =
+        geneFile.updateAndGet(
+            current -> {
+              if (null != current && current.getPath().equals(path)) {
+                return current;
+              }
+              // Keep genes of previous gene file until the new one has been loaded
+              return new GeneFile(path, null == current ? null : current.source().orElse(null));
+            });
+    return Objects.requireNonNull(updated).refresh();
+  }
+
+  /**
+   * Reloads the external gene file in background if it has been modified since last load. Does
+   * nothing if no gene file is used.
+   *
+   * @return A future completed after the gene file has been checked and loaded if required
+   */
+  public static CompletableFuture<Void> refreshGeneFile() {
+    final var current = geneFile.get();
+    if (null == current) {
+      return CompletableFuture.completedFuture(null);
+    }
+    return current.refresh();
+  }
+
+  private static GeneSource source() {
+    final var current = geneFile.get();
+    if (null != current) {
+      return current.source().orElseGet(GeneUtils::bundled);
+    }
+    return bundled();
+  }
+
+  private static GeneSource bundled() {
+    return BundledGenes.SOURCE;
   }
 
   public static Coding toCoding(Gene gene) {
@@ -70,39 +172,9 @@ public class GeneUtils {
         .build();
   }
 
-  private static List<Gene> genes() {
-    var result = new ArrayList<Gene>();
-
-    try {
-      var inputStream =
-          Objects.requireNonNull(GeneUtils.class.getClassLoader().getResourceAsStream("genes.csv"));
-      var parser =
-          CSVFormat.RFC4180
-              .builder()
-              .setHeader()
-              .setSkipHeaderRecord(true)
-              .setDelimiter('\t')
-              .build()
-              .parse(new InputStreamReader(inputStream));
-      for (var row : parser) {
-        result.add(
-            new Gene(
-                row.get("HGNC ID"),
-                row.get("Ensembl ID(supplied by Ensembl)"),
-                row.get("Approved symbol"),
-                row.get("Approved name"),
-                row.get("Chromosome")));
-      }
-
-      return result;
-    } catch (IOException e) {
-      return List.of();
-    } catch (NoSuchMethodError e) {
-      logger.error(
-          "CSVFormat.get() not found! VERSION: {}",
-          org.apache.commons.csv.CSVFormat.class.getPackage().getImplementationVersion(),
-          e);
-      throw e;
-    }
+  // Prefer binary gene index created at build time, use gene list if index is not available
+  private static final class BundledGenes {
+    private static final GeneSource SOURCE =
+        GeneIndex.bundled().map(GeneSource.class::cast).orElseGet(GeneCatalogue::bundled);
   }
 }
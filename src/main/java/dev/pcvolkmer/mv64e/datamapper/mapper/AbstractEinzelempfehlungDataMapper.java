@@ -25,7 +25,6 @@ import dev.pcvolkmer.mv64e.datamapper.datacatalogues.EinzelempfehlungCatalogue;
 import dev.pcvolkmer.mv64e.datamapper.datacatalogues.TherapieplanCatalogue;
 import dev.pcvolkmer.mv64e.datamapper.exceptions.IgnorableMappingException;
 import dev.pcvolkmer.mv64e.mtb.*;
-import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.jspecify.annotations.NonNull;
@@ -81,21 +80,15 @@ public abstract class AbstractEinzelempfehlungDataMapper<T> extends AbstractSubf
   @Nullable
   protected RecommendationPriorityCoding getRecommendationPriorityCoding(
       @NonNull String code, int version) {
-    if (!Arrays.stream(RecommendationPriorityCodingCode.values())
-        .map(RecommendationPriorityCodingCode::toValue)
-        .collect(Collectors.toSet())
-        .contains(code)) {
+    final var codingCode = CodingResolver.resolve(RecommendationPriorityCodingCode.class, code);
+    if (null == codingCode) {
       return null;
     }
 
     var resultBuilder =
         RecommendationPriorityCoding.builder().system("dnpm-dip/recommendation/priority");
 
-    try {
-      resultBuilder.code(RecommendationPriorityCodingCode.forValue(code)).display(code);
-    } catch (IOException e) {
-      return null;
-    }
+    resultBuilder.code(codingCode).display(code);
 
     return resultBuilder.build();
   }
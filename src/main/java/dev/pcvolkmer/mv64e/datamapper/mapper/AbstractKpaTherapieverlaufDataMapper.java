@@ -21,11 +21,10 @@
 package dev.pcvolkmer.mv64e.datamapper.mapper;
 
 import dev.pcvolkmer.mv64e.datamapper.PropertyCatalogue;
+import dev.pcvolkmer.mv64e.datamapper.ResultSet;
 import dev.pcvolkmer.mv64e.datamapper.datacatalogues.AbstractSubformDataCatalogue;
 import dev.pcvolkmer.mv64e.mtb.*;
-import java.io.IOException;
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.List;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -44,14 +43,16 @@ public abstract class AbstractKpaTherapieverlaufDataMapper<T> extends AbstractSu
     this.propertyCatalogue = propertyCatalogue;
   }
 
+  @Override
+  protected void prefetch(final List<ResultSet> resultSets) {
+    // Resolve property catalogue entries of all result sets at once
+    propertyCatalogue.resolve(new PropertyCatalogue.Batch().registerAll(resultSets));
+  }
+
   @Nullable
   protected MtbTherapyIntentCoding getMtbTherapyIntentCoding(String value, Integer version) {
-    if (value == null
-        || version == null
-        || !Arrays.stream(MtbTherapyIntentCodingCode.values())
-            .map(MtbTherapyIntentCodingCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(value)) {
+    final var codingCode = CodingResolver.resolve(MtbTherapyIntentCodingCode.class, value);
+    if (null == codingCode || version == null) {
       return null;
     }
 
@@ -60,32 +61,15 @@ public abstract class AbstractKpaTherapieverlaufDataMapper<T> extends AbstractSu
             .system("dnpm-dip/therapy/intent")
             .display(propertyCatalogue.getByCodeAndVersion(value, version).getShortdesc());
 
-    switch (value) {
-      case "X":
-        resultBuilder.code(MtbTherapyIntentCodingCode.X);
-        break;
-      case "K":
-        resultBuilder.code(MtbTherapyIntentCodingCode.K);
-        break;
-      case "P":
-        resultBuilder.code(MtbTherapyIntentCodingCode.P);
-        break;
-      case "S":
-        resultBuilder.code(MtbTherapyIntentCodingCode.S);
-        break;
-    }
+    resultBuilder.code(codingCode);
 
     return resultBuilder.build();
   }
 
   @Nullable
   protected TherapyStatusCoding getTherapyStatusCoding(String value, Integer version) {
-    if (value == null
-        || version == null
-        || !Arrays.stream(TherapyStatusCodingCode.values())
-            .map(TherapyStatusCodingCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(value)) {
+    final var codingCode = CodingResolver.resolve(TherapyStatusCodingCode.class, value);
+    if (null == codingCode || version == null) {
       return null;
     }
 
@@ -94,20 +78,7 @@ public abstract class AbstractKpaTherapieverlaufDataMapper<T> extends AbstractSu
             .system("dnpm-dip/therapy/status")
             .display(propertyCatalogue.getByCodeAndVersion(value, version).getShortdesc());
 
-    switch (value) {
-      case "not-done":
-        resultBuilder.code(TherapyStatusCodingCode.NOT_DONE);
-        break;
-      case "on-going":
-        resultBuilder.code(TherapyStatusCodingCode.ON_GOING);
-        break;
-      case "stopped":
-        resultBuilder.code(TherapyStatusCodingCode.STOPPED);
-        break;
-      case "completed":
-        resultBuilder.code(TherapyStatusCodingCode.COMPLETED);
-        break;
-    }
+    resultBuilder.code(codingCode);
 
     return resultBuilder.build();
   }
@@ -115,12 +86,8 @@ public abstract class AbstractKpaTherapieverlaufDataMapper<T> extends AbstractSu
   @Nullable
   protected MtbTherapyStatusReasonCoding getMtbTherapyStatusReasonCoding(
       String value, Integer version) {
-    if (value == null
-        || version == null
-        || !Arrays.stream(MtbTherapyStatusReasonCodingCode.values())
-            .map(MtbTherapyStatusReasonCodingCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(value)) {
+    final var codingCode = CodingResolver.resolve(MtbTherapyStatusReasonCodingCode.class, value);
+    if (null == codingCode || version == null) {
       return null;
     }
 
@@ -129,11 +96,7 @@ public abstract class AbstractKpaTherapieverlaufDataMapper<T> extends AbstractSu
             .system("dnpm-dip/therapy/status-reason")
             .display(propertyCatalogue.getByCodeAndVersion(value, version).getShortdesc());
 
-    try {
-      resultBuilder.code(MtbTherapyStatusReasonCodingCode.forValue(value));
-    } catch (IOException e) {
-      return null;
-    }
+    resultBuilder.code(codingCode);
 
     return resultBuilder.build();
   }
@@ -141,12 +104,10 @@ public abstract class AbstractKpaTherapieverlaufDataMapper<T> extends AbstractSu
   @Nullable
   protected MtbSystemicTherapyRecommendationFulfillmentStatusCoding
       getMtbSystemicTherapyRecommendationFulfillmentStatusCoding(String value, Integer version) {
-    if (value == null
-        || version == null
-        || !Arrays.stream(MtbSystemicTherapyRecommendationFulfillmentStatusCodingCode.values())
-            .map(MtbSystemicTherapyRecommendationFulfillmentStatusCodingCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(value)) {
+    final var codingCode =
+        CodingResolver.resolve(
+            MtbSystemicTherapyRecommendationFulfillmentStatusCodingCode.class, value);
+    if (null == codingCode || version == null) {
       return null;
     }
 
@@ -154,12 +115,7 @@ public abstract class AbstractKpaTherapieverlaufDataMapper<T> extends AbstractSu
         MtbSystemicTherapyRecommendationFulfillmentStatusCoding.builder()
             .system("dnpm-dip/therapy/recommendation-fulfillment-status")
             .display(propertyCatalogue.getByCodeAndVersion(value, version).getShortdesc());
-    try {
-      resultBuilder.code(
-          MtbSystemicTherapyRecommendationFulfillmentStatusCodingCode.forValue(value));
-    } catch (IOException e) {
-      return null;
-    }
+    resultBuilder.code(codingCode);
 
     return resultBuilder.build();
   }
@@ -167,12 +123,9 @@ public abstract class AbstractKpaTherapieverlaufDataMapper<T> extends AbstractSu
   @Nullable
   protected MtbSystemicTherapyCategoryCoding getMtbSystemicTherapyCategoryCoding(
       String value, Integer version) {
-    if (value == null
-        || version == null
-        || !Arrays.stream(MtbSystemicTherapyCategoryCodingCode.values())
-            .map(MtbSystemicTherapyCategoryCodingCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(value)) {
+    final var codingCode =
+        CodingResolver.resolve(MtbSystemicTherapyCategoryCodingCode.class, value);
+    if (null == codingCode || version == null) {
       return null;
     }
 
@@ -180,11 +133,7 @@ public abstract class AbstractKpaTherapieverlaufDataMapper<T> extends AbstractSu
         MtbSystemicTherapyCategoryCoding.builder()
             .system("dnpm-dip/therapy/category")
             .display(propertyCatalogue.getByCodeAndVersion(value, version).getShortdesc());
-    try {
-      resultBuilder.code(MtbSystemicTherapyCategoryCodingCode.forValue(value));
-    } catch (IOException e) {
-      return null;
-    }
+    resultBuilder.code(codingCode);
 
     return resultBuilder.build();
   }
@@ -192,12 +141,9 @@ public abstract class AbstractKpaTherapieverlaufDataMapper<T> extends AbstractSu
   @Nullable
   protected MtbSystemicTherapyDosageDensityCoding getMtbSystemicTherapyDosageDensityCoding(
       String value, Integer version) {
-    if (value == null
-        || version == null
-        || !Arrays.stream(MtbSystemicTherapyDosageDensityCodingCode.values())
-            .map(MtbSystemicTherapyDosageDensityCodingCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(value)) {
+    final var codingCode =
+        CodingResolver.resolve(MtbSystemicTherapyDosageDensityCodingCode.class, value);
+    if (null == codingCode || version == null) {
       return null;
     }
 
@@ -205,23 +151,15 @@ public abstract class AbstractKpaTherapieverlaufDataMapper<T> extends AbstractSu
         MtbSystemicTherapyDosageDensityCoding.builder()
             .system("dnpm-dip/therapy/status-density")
             .display(propertyCatalogue.getByCodeAndVersion(value, version).getShortdesc());
-    try {
-      resultBuilder.code(MtbSystemicTherapyDosageDensityCodingCode.forValue(value));
-    } catch (IOException e) {
-      return null;
-    }
+    resultBuilder.code(codingCode);
 
     return resultBuilder.build();
   }
 
   @Nullable
   protected OncoProcedureCoding getOncoProcedureCoding(String value, Integer version) {
-    if (value == null
-        || version == null
-        || !Arrays.stream(OncoProcedureCodingCode.values())
-            .map(OncoProcedureCodingCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(value)) {
+    final var codingCode = CodingResolver.resolve(OncoProcedureCodingCode.class, value);
+    if (null == codingCode || version == null) {
       return null;
     }
 
@@ -230,11 +168,7 @@ public abstract class AbstractKpaTherapieverlaufDataMapper<T> extends AbstractSu
             .system("dnpm-dip/therapy/type")
             .display(propertyCatalogue.getByCodeAndVersion(value, version).getShortdesc());
 
-    try {
-      resultBuilder.code(OncoProcedureCodingCode.forValue(value));
-    } catch (IOException e) {
-      throw new IllegalStateException("No valid code found");
-    }
+    resultBuilder.code(codingCode);
 
     return resultBuilder.build();
   }
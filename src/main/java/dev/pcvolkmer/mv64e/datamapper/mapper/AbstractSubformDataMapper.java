@@ -52,13 +52,25 @@ public abstract class AbstractSubformDataMapper<T> implements SubformDataMapper<
   @NullMarked
   @Override
   public List<T> getByParentId(final int parentId) {
-    return catalogue.getAllByParentId(parentId).stream()
+    final var resultSets = catalogue.getAllByParentId(parentId);
+    prefetch(resultSets);
+    return resultSets.stream()
         .map(this::map)
         .filter(Objects::nonNull)
         .distinct()
         .collect(Collectors.toList());
   }
 
+  /**
+   * Prepares mapping of all result sets before mapping single result sets, e.g. to request related
+   * data at once. Does nothing by default.
+   *
+   * @param resultSets The result sets to be mapped
+   */
+  protected void prefetch(final List<ResultSet> resultSets) {
+    // Nothing to prepare by default
+  }
+
   /**
    * Maps a single result set into destination object
    *
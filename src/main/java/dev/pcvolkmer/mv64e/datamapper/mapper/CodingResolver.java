@@ -0,0 +1,95 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.mapper;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Resolves values used in Onkostar forms into DNPM coding codes. The value to code lookup table of
+ * each coding code enum is created once on first use by calling {@code toValue()} on all enum
+ * constants. Afterwards, resolving a code is a single map lookup.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@NullMarked
+public final class CodingResolver {
+
+  private static final ClassValue<Map<String, Object>> CODES =
+      new ClassValue<>() {
+        @Override
+        protected Map<String, Object> computeValue(Class<?> type) {
+          return createLookupTable(type);
+        }
+      };
+
+  private CodingResolver() {
+    // utility class
+  }
+
+  /**
+   * Resolves the coding code for the value
+   *
+   * @param type The coding code enum class
+   * @param value The value as returned by {@code toValue()} of the coding code
+   * @return The coding code or null if there is no coding code for this value
+   * @param <E> The coding code enum type
+   */
+  public static <E extends Enum<E>> @Nullable E resolve(Class<E> type, @Nullable String value) {
+    if (null == value) {
+      return null;
+    }
+    return type.cast(CODES.get(type).get(value));
+  }
+
+  /**
+   * Checks if there is a coding code for the value
+   *
+   * @param type The coding code enum class
+   * @param value The value as returned by {@code toValue()} of the coding code
+   * @return true if there is a coding code for this value
+   * @param <E> The coding code enum type
+   */
+  public static <E extends Enum<E>> boolean isValid(Class<E> type, @Nullable String value) {
+    return null != resolve(type, value);
+  }
+
+  private static Map<String, Object> createLookupTable(Class<?> type) {
+    final var constants = type.getEnumConstants();
+    if (null == constants) {
+      throw new IllegalArgumentException(type.getName() + " is not an enum");
+    }
+    try {
+      final var toValue = type.getMethod("toValue");
+      final var result = new HashMap<String, Object>();
+      for (var constant : constants) {
+        result.put((String) toValue.invoke(constant), constant);
+      }
+      return Map.copyOf(result);
+    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      throw new IllegalArgumentException(type.getName() + " is not a coding code", e);
+    }
+  }
+}
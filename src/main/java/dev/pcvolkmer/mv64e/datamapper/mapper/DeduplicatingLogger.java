@@ -0,0 +1,309 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.mapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * Logger for repetitive warnings and errors while mapping, e.g. unknown gene symbols. Each distinct
+ * message will be logged at most once per interval within the JVM. Repeated messages are counted
+ * per export using a {@link Summary} and logged as one summary line with counts when it is closed.
+ * Messages repeated while no summary is open for the current thread are logged by calling {@link
+ * #summarize()}.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@NullMarked
+public final class DeduplicatingLogger {
+
+  static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(10);
+
+  // Limit memory usage if messages are not repetitive at all
+  static final int MAX_MESSAGES = 1000;
+  static final int MAX_SUMMARY_MESSAGES = 10;
+
+  private static final Map<String, DeduplicatingLogger> LOGGERS = new ConcurrentHashMap<>();
+
+  private final Logger logger;
+  private final long interval;
+  private final LongSupplier nanoClock;
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  DeduplicatingLogger(Logger logger, Duration interval, LongSupplier nanoClock) {
+    this.logger = logger;
+    this.interval = interval.toNanos();
+    this.nanoClock = nanoClock;
+  }
+
+  /**
+   * Returns the deduplicating logger for the class. All callers share the same instance.
+   *
+   * @param type The class to get the logger for
+   * @return The deduplicating logger
+   */
+  public static DeduplicatingLogger getLogger(Class<?> type) {
+    return LOGGERS.computeIfAbsent(
+        type.getName(),
+        name ->
+            new DeduplicatingLogger(
+                LoggerFactory.getLogger(name), DEFAULT_INTERVAL, System::nanoTime));
+  }
+
+  /**
+   * Logs a summary line with counts of repeated messages not logged since the last summary for
+   * each deduplicating logger, if repeated while no {@link Summary} was open. Messages not logged
+   * within the interval will be forgotten.
+   */
+  public static void summarize() {
+    LOGGERS.values().forEach(DeduplicatingLogger::summarizeSuppressed);
+  }
+
+  /**
+   * Logs the message at level WARN, if not logged within the interval
+   *
+   * @param format The format string as used by SLF4J
+   * @param arguments The arguments
+   */
+  public void warn(String format, @Nullable Object... arguments) {
+    if (logger.isWarnEnabled()) {
+      log(false, format, arguments);
+    }
+  }
+
+  /**
+   * Logs the message at level ERROR, if not logged within the interval
+   *
+   * @param format The format string as used by SLF4J
+   * @param arguments The arguments
+   */
+  public void error(String format, @Nullable Object... arguments) {
+    if (logger.isErrorEnabled()) {
+      log(true, format, arguments);
+    }
+  }
+
+  private void log(boolean error, String format, @Nullable Object[] arguments) {
+    final var tuple = MessageFormatter.arrayFormat(format, arguments);
+    final var message = tuple.getMessage();
+    var entry = entries.get(message);
+    if (null == entry) {
+      if (entries.size() >= MAX_MESSAGES) {
+        write(error, message, tuple.getThrowable());
+        return;
+      }
+      entry = entries.computeIfAbsent(message, key -> new Entry(error, nanoClock.getAsLong()));
+    }
+    if (entry.tryEmit(nanoClock.getAsLong(), interval)) {
+      write(error, message, tuple.getThrowable());
+      return;
+    }
+    final var summary = Summary.CURRENT.get();
+    if (null == summary) {
+      entry.suppressed.increment();
+    } else {
+      summary.count(this, message, entry.error);
+    }
+  }
+
+  private void write(boolean error, String message, @Nullable Throwable throwable) {
+    if (error) {
+      logger.error(message, throwable);
+    } else {
+      logger.warn(message, throwable);
+    }
+  }
+
+  void summarizeSuppressed() {
+    summarizeSuppressed(entries);
+    forgetExpired();
+  }
+
+  private void summarizeSuppressed(Map<String, ? extends Suppressed> suppressed) {
+    final var messages = new ArrayList<String>();
+    var total = 0L;
+    var distinct = 0;
+    var error = false;
+    for (var entry : suppressed.entrySet()) {
+      final var count = entry.getValue().suppressed.sumThenReset();
+      if (count > 0) {
+        total += count;
+        distinct++;
+        error |= entry.getValue().error;
+        if (distinct <= MAX_SUMMARY_MESSAGES) {
+          messages.add(entry.getKey() + " (" + count + "x)");
+        }
+      }
+    }
+    if (total == 0) {
+      return;
+    }
+    if (distinct > MAX_SUMMARY_MESSAGES) {
+      messages.add("...");
+    }
+    write(
+        error,
+        String.format(
+            "Suppressed %d repeated log messages: %s", total, String.join("; ", messages)),
+        null);
+  }
+
+  private void forgetExpired() {
+    final var now = nanoClock.getAsLong();
+    // The message would be logged again anyway, so keep the number of messages bounded
+    entries.entrySet().removeIf(entry -> entry.getValue().isExpired(now));
+  }
+
+  /**
+   * Export scoped counts of repeated messages not logged. While a summary is open for the current
+   * thread, repeated messages of all deduplicating loggers are counted in it and logged as one
+   * summary line per deduplicating logger when it is closed. Concurrent exports will therefore not
+   * report the counts of each other.
+   *
+   * <p>Usage:
+   *
+   * <pre>{@code
+   * try (var summary = DeduplicatingLogger.Summary.open()) {
+   *   // Map the Mtb files
+   * }
+   * }</pre>
+   *
+   * <p>Opening a summary while one is already open for the current thread will start a new one
+   * until closed. Worker threads mapping parts of the same export can use {@link #attach()} to
+   * count messages in the same summary.
+   */
+  public static final class Summary implements AutoCloseable {
+
+    private static final ThreadLocal<@Nullable Summary> CURRENT = new ThreadLocal<>();
+
+    private final Map<DeduplicatingLogger, Map<String, Suppressed>> suppressed;
+    private final boolean owner;
+    private final @Nullable Summary previous;
+
+    private Summary(
+        Map<DeduplicatingLogger, Map<String, Suppressed>> suppressed,
+        boolean owner,
+        @Nullable Summary previous) {
+      this.suppressed = suppressed;
+      this.owner = owner;
+      this.previous = previous;
+    }
+
+    /**
+     * Opens a new summary for the current thread
+     *
+     * @return The summary to be closed after use
+     */
+    public static Summary open() {
+      final var summary = new Summary(new ConcurrentHashMap<>(), true, CURRENT.get());
+      CURRENT.set(summary);
+      return summary;
+    }
+
+    /**
+     * Attaches this summary to the current thread, e.g. a worker thread mapping a part of the same
+     * export. Closing the attached summary will detach it from the current thread only.
+     *
+     * @return The attached summary to be closed after use
+     */
+    public Summary attach() {
+      final var summary = new Summary(this.suppressed, false, CURRENT.get());
+      CURRENT.set(summary);
+      return summary;
+    }
+
+    /**
+     * Returns the summary open for the current thread
+     *
+     * @return An optional containing the summary or an empty optional if no summary is open
+     */
+    public static Optional<Summary> current() {
+      return Optional.ofNullable(CURRENT.get());
+    }
+
+    private void count(DeduplicatingLogger logger, String message, boolean error) {
+      suppressed
+          .computeIfAbsent(logger, key -> new ConcurrentHashMap<>())
+          .computeIfAbsent(message, key -> new Suppressed(error))
+          .suppressed
+          .increment();
+    }
+
+    /**
+     * Closes the summary and restores the previous one of the current thread, if any. If not
+     * attached, a summary line with counts of repeated messages will be logged for each
+     * deduplicating logger and messages not logged within the interval will be forgotten.
+     */
+    @Override
+    public void close() {
+      if (null == previous) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+      if (owner) {
+        suppressed.forEach(DeduplicatingLogger::summarizeSuppressed);
+        suppressed.clear();
+        LOGGERS.values().forEach(DeduplicatingLogger::forgetExpired);
+      }
+    }
+  }
+
+  private static class Suppressed {
+    final boolean error;
+    final LongAdder suppressed = new LongAdder();
+
+    private Suppressed(boolean error) {
+      this.error = error;
+    }
+  }
+
+  private static final class Entry extends Suppressed {
+    private final AtomicLong nextEmission;
+
+    private Entry(boolean error, long now) {
+      super(error);
+      this.nextEmission = new AtomicLong(now);
+    }
+
+    private boolean isExpired(long now) {
+      return now - nextEmission.get() >= 0;
+    }
+
+    private boolean tryEmit(long now, long interval) {
+      final var next = nextEmission.get();
+      // Only one caller will emit the message, others will count it as suppressed
+      return now - next >= 0 && nextEmission.compareAndSet(next, now + interval);
+    }
+  }
+}
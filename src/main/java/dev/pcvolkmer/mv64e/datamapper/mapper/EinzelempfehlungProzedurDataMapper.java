@@ -29,8 +29,6 @@ import dev.pcvolkmer.mv64e.mtb.MtbProcedureRecommendationCategoryCoding;
 import dev.pcvolkmer.mv64e.mtb.MtbProcedureRecommendationCategoryCodingCode;
 import dev.pcvolkmer.mv64e.mtb.ProcedureRecommendation;
 import dev.pcvolkmer.mv64e.mtb.Reference;
-import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -112,11 +110,9 @@ public class EinzelempfehlungProzedurDataMapper
   @Nullable
   private MtbProcedureRecommendationCategoryCoding getMtbProcedureRecommendationCategoryCoding(
       String code) {
-    if (code == null
-        || !Arrays.stream(MtbProcedureRecommendationCategoryCodingCode.values())
-            .map(MtbProcedureRecommendationCategoryCodingCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(code)) {
+    final var codingCode =
+        CodingResolver.resolve(MtbProcedureRecommendationCategoryCodingCode.class, code);
+    if (null == codingCode) {
       return null;
     }
 
@@ -124,11 +120,7 @@ public class EinzelempfehlungProzedurDataMapper
         MtbProcedureRecommendationCategoryCoding.builder()
             .system("dnpm-dip/mtb/recommendation/procedure/category");
 
-    try {
-      resultBuilder.code(MtbProcedureRecommendationCategoryCodingCode.forValue(code)).display(code);
-    } catch (IOException e) {
-      return null;
-    }
+    resultBuilder.code(codingCode).display(code);
 
     return resultBuilder.build();
   }
@@ -27,8 +27,6 @@ import dev.pcvolkmer.mv64e.datamapper.datacatalogues.TherapieplanCatalogue;
 import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
 import dev.pcvolkmer.mv64e.datamapper.mapper.exceptionhandler.TryAndLog;
 import dev.pcvolkmer.mv64e.mtb.*;
-import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -118,9 +116,13 @@ public class EinzelempfehlungWirkstoffDataMapper
   @NullMarked
   @Override
   public List<MtbMedicationRecommendation> getByParentId(final int parentId) {
-    return catalogue.getAllByParentId(parentId).stream()
-        // Filter Wirkstoffempfehlung (Systemische Therapie)
-        .filter(it -> "systemisch".equals(it.getString("empfehlungskategorie")))
+    final var resultSets =
+        catalogue.getAllByParentId(parentId).stream()
+            // Filter Wirkstoffempfehlung (Systemische Therapie)
+            .filter(it -> "systemisch".equals(it.getString("empfehlungskategorie")))
+            .collect(Collectors.toList());
+    propertyCatalogue.resolve(new PropertyCatalogue.Batch().registerAll(resultSets));
+    return resultSets.stream()
         .map(this::map)
         .filter(Objects::nonNull)
         .distinct()
@@ -130,10 +132,9 @@ public class EinzelempfehlungWirkstoffDataMapper
   @Nullable
   private MtbMedicationRecommendationCategoryCoding getMtbMedicationRecommendationCategoryCoding(
       @NonNull String code, @NonNull Integer version) {
-    if (!Arrays.stream(MtbMedicationRecommendationCategoryCodingCode.values())
-        .map(MtbMedicationRecommendationCategoryCodingCode::toValue)
-        .collect(Collectors.toSet())
-        .contains(code)) {
+    final var codingCode =
+        CodingResolver.resolve(MtbMedicationRecommendationCategoryCodingCode.class, code);
+    if (null == codingCode) {
       return null;
     }
 
@@ -141,13 +142,9 @@ public class EinzelempfehlungWirkstoffDataMapper
         MtbMedicationRecommendationCategoryCoding.builder()
             .system("dnpm-dip/mtb/recommendation/systemic-therapy/category");
 
-    try {
-      resultBuilder
-          .code(MtbMedicationRecommendationCategoryCodingCode.forValue(code))
-          .display(propertyCatalogue.getByCodeAndVersion(code, version).getShortdesc());
-    } catch (IOException e) {
-      return null;
-    }
+    resultBuilder
+        .code(codingCode)
+        .display(propertyCatalogue.getByCodeAndVersion(code, version).getShortdesc());
 
     return resultBuilder.build();
   }
@@ -155,10 +152,9 @@ public class EinzelempfehlungWirkstoffDataMapper
   @Nullable
   private MtbMedicationRecommendationUseTypeCoding getMtbMedicationRecommendationUseTypeCoding(
       @NonNull String code, @NonNull Integer version) {
-    if (!Arrays.stream(MtbMedicationRecommendationUseTypeCodingCode.values())
-        .map(MtbMedicationRecommendationUseTypeCodingCode::toValue)
-        .collect(Collectors.toSet())
-        .contains(code)) {
+    final var codingCode =
+        CodingResolver.resolve(MtbMedicationRecommendationUseTypeCodingCode.class, code);
+    if (null == codingCode) {
       return null;
     }
 
@@ -166,13 +162,9 @@ public class EinzelempfehlungWirkstoffDataMapper
         MtbMedicationRecommendationUseTypeCoding.builder()
             .system("dnpm-dip/mtb/recommendation/systemic-therapy/use-type");
 
-    try {
-      resultBuilder
-          .code(MtbMedicationRecommendationUseTypeCodingCode.forValue(code))
-          .display(propertyCatalogue.getByCodeAndVersion(code, version).getShortdesc());
-    } catch (IOException e) {
-      return null;
-    }
+    resultBuilder
+        .code(codingCode)
+        .display(propertyCatalogue.getByCodeAndVersion(code, version).getShortdesc());
 
     return resultBuilder.build();
   }
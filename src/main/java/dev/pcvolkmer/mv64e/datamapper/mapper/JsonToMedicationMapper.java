@@ -23,6 +23,7 @@ package dev.pcvolkmer.mv64e.datamapper.mapper;
 import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
 import dev.pcvolkmer.mv64e.mtb.AtcUnregisteredMedicationCoding;
 import dev.pcvolkmer.mv64e.mtb.RequestedMedicationSystem;
@@ -37,6 +38,10 @@ import java.util.stream.Collectors;
  */
 public class JsonToMedicationMapper {
 
+  // Thread-safe and reused for all mappings
+  private static final ObjectReader READER =
+      new ObjectMapper().readerFor(new TypeReference<List<Wirkstoff>>() {});
+
   private JsonToMedicationMapper() {
     // intentionally left empty
   }
@@ -46,23 +51,22 @@ public class JsonToMedicationMapper {
       return List.of();
     }
     try {
-      return new ObjectMapper()
-          .readValue(wirkstoffejson, new TypeReference<List<Wirkstoff>>() {}).stream()
-              .map(
-                  wirkstoff ->
-                      AtcUnregisteredMedicationCoding.builder()
-                          .code(wirkstoff.code)
-                          .system(
-                              // Wirkstoff ohne Version => UNREGISTERED
-                              "ATC".equals(wirkstoff.system)
-                                      && null != wirkstoff.version
-                                      && !wirkstoff.version.isBlank()
-                                  ? RequestedMedicationSystem.FHIR_DE_CODE_SYSTEM_BFARM_ATC
-                                  : RequestedMedicationSystem.UNDEFINED)
-                          .version(wirkstoff.version)
-                          .display(wirkstoff.name)
-                          .build())
-              .collect(Collectors.toList());
+      return READER.<List<Wirkstoff>>readValue(wirkstoffejson).stream()
+          .map(
+              wirkstoff ->
+                  AtcUnregisteredMedicationCoding.builder()
+                      .code(wirkstoff.code)
+                      .system(
+                          // Wirkstoff ohne Version => UNREGISTERED
+                          "ATC".equals(wirkstoff.system)
+                                  && null != wirkstoff.version
+                                  && !wirkstoff.version.isBlank()
+                              ? RequestedMedicationSystem.FHIR_DE_CODE_SYSTEM_BFARM_ATC
+                              : RequestedMedicationSystem.UNDEFINED)
+                      .version(wirkstoff.version)
+                      .display(wirkstoff.name)
+                      .build())
+          .collect(Collectors.toList());
     } catch (Exception e) {
       throw new DataAccessException(String.format("Cannot map medication for %s", wirkstoffejson));
     }
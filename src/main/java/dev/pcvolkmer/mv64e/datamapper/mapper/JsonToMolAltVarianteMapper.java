@@ -20,17 +20,19 @@
 
 package dev.pcvolkmer.mv64e.datamapper.mapper;
 
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonToken;
 import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
 import dev.pcvolkmer.mv64e.datamapper.genes.GeneUtils;
 import dev.pcvolkmer.mv64e.mtb.GeneAlterationReference;
 import dev.pcvolkmer.mv64e.mtb.Reference;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import org.jspecify.annotations.NullMarked;
-import org.jspecify.annotations.NullUnmarked;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -42,6 +44,9 @@ import org.jspecify.annotations.Nullable;
 @NullMarked
 public class JsonToMolAltVarianteMapper {
 
+  // Thread-safe and reused for all mappings
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
   private JsonToMolAltVarianteMapper() {
     // intentionally left empty
   }
@@ -51,41 +56,86 @@ public class JsonToMolAltVarianteMapper {
       return List.of();
     }
     try {
-      return new ObjectMapper()
-          .readValue(variantsJson, new TypeReference<List<MolAltVariante>>() {}).stream()
-              .map(
-                  variante -> {
-                    var resultBuilder = GeneAlterationReference.builder();
-                    GeneUtils.findBySymbol(variante.getGen())
-                        .ifPresent(
-                            gene ->
-                                resultBuilder
-                                    .gene(GeneUtils.toCoding(gene))
-                                    .variant(
-                                        Reference.builder()
-                                            .id(variante.id)
-                                            .type("Variant")
-                                            .build()));
-                    return resultBuilder.build();
-                  })
-              .filter(it -> it.getVariant() != null)
-              .collect(Collectors.toList());
+      final var varianten = parse(variantsJson);
+      final var genes =
+          GeneUtils.findAllBySymbols(
+              varianten.stream()
+                  .map(MolAltVariante::getGen)
+                  .filter(Objects::nonNull)
+                  .collect(Collectors.toSet()));
+      return varianten.stream()
+          .map(
+              variante -> {
+                final var gene = genes.get(variante.getGen());
+                if (null == gene) {
+                  return null;
+                }
+                return GeneAlterationReference.builder()
+                    .gene(GeneUtils.toCoding(gene))
+                    .variant(Reference.builder().id(variante.id).type("Variant").build())
+                    .build();
+              })
+          .filter(Objects::nonNull)
+          .collect(Collectors.toList());
     } catch (Exception e) {
       throw new DataAccessException(
           String.format("Cannot map gene alteration for %s", variantsJson));
     }
   }
 
-  @NullUnmarked
-  @JsonIgnoreProperties(ignoreUnknown = true)
+  /**
+   * Parses the JSON array using a streaming parser. Only the required fields "id" and "gen" will
+   * be read, all other fields will be skipped.
+   */
+  private static List<MolAltVariante> parse(String variantsJson) throws IOException {
+    try (var parser = JSON_FACTORY.createParser(variantsJson)) {
+      if (parser.nextToken() != JsonToken.START_ARRAY) {
+        throw new JsonParseException(parser, "Expected JSON array");
+      }
+      final var result = new ArrayList<MolAltVariante>();
+      while (parser.nextToken() == JsonToken.START_OBJECT) {
+        String id = null;
+        String gen = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          final var fieldName = parser.currentName();
+          final var token = parser.nextToken();
+          if ("id".equals(fieldName) || "gen".equals(fieldName)) {
+            if (null == token || token.isStructStart()) {
+              throw new JsonParseException(parser, "Expected scalar value for " + fieldName);
+            }
+            if ("id".equals(fieldName)) {
+              id = parser.getValueAsString();
+            } else {
+              gen = parser.getValueAsString();
+            }
+          } else {
+            parser.skipChildren();
+          }
+        }
+        result.add(new MolAltVariante(id, gen));
+      }
+      if (parser.currentToken() != JsonToken.END_ARRAY) {
+        throw new JsonParseException(parser, "Expected JSON object");
+      }
+      return result;
+    }
+  }
+
   private static class MolAltVariante {
-    private String id;
-    private String gen;
+    @Nullable private final String id;
+    @Nullable private final String gen;
+
+    private MolAltVariante(@Nullable String id, @Nullable String gen) {
+      this.id = id;
+      this.gen = gen;
+    }
 
+    @Nullable
     public String getId() {
       return id;
     }
 
+    @Nullable
     public String getGen() {
       return gen;
     }
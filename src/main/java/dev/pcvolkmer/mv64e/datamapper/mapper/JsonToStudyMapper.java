@@ -24,6 +24,7 @@ import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
 import dev.pcvolkmer.mv64e.mtb.StudyReference;
 import dev.pcvolkmer.mv64e.mtb.StudySystem;
@@ -39,6 +40,10 @@ import org.jspecify.annotations.Nullable;
  */
 public class JsonToStudyMapper {
 
+  // Thread-safe and reused for all mappings
+  private static final ObjectReader READER =
+      new ObjectMapper().readerFor(new TypeReference<List<Studie>>() {});
+
   private JsonToStudyMapper() {
     // intentionally left empty
   }
@@ -48,19 +53,18 @@ public class JsonToStudyMapper {
       return List.of();
     }
     try {
-      return new ObjectMapper()
-          .readValue(studyJson, new TypeReference<List<Studie>>() {}).stream()
-              .map(
-                  studie ->
-                      StudyReference.builder()
-                          .id(studie.getId())
-                          .system(getStudySystem(studie.getSystem()))
-                          .type("Study")
-                          .display(
-                              studie.getStudy()) // Datenmodell v2.1: Über den "display"-Wert an der
-                          // Referenz kann der Studien-Name gesetzt werden.
-                          .build())
-              .collect(Collectors.toList());
+      return READER.<List<Studie>>readValue(studyJson).stream()
+          .map(
+              studie ->
+                  StudyReference.builder()
+                      .id(studie.getId())
+                      .system(getStudySystem(studie.getSystem()))
+                      .type("Study")
+                      .display(
+                          studie.getStudy()) // Datenmodell v2.1: Über den "display"-Wert an der
+                      // Referenz kann der Studien-Name gesetzt werden.
+                      .build())
+          .collect(Collectors.toList());
     } catch (Exception e) {
       throw new DataAccessException(String.format("Cannot map medication for %s", studyJson));
     }
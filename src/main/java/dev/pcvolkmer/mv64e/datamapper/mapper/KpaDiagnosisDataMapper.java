@@ -29,8 +29,6 @@ import dev.pcvolkmer.mv64e.datamapper.datacatalogues.TumorausbreitungCatalogue;
 import dev.pcvolkmer.mv64e.datamapper.datacatalogues.TumorgradingCatalogue;
 import dev.pcvolkmer.mv64e.datamapper.exceptions.IgnorableMappingException;
 import dev.pcvolkmer.mv64e.mtb.*;
-import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -87,6 +85,16 @@ public class KpaDiagnosisDataMapper implements DataMapper<MtbDiagnosis> {
           "Cannot get expected ICD10 code or property catalogue entry");
     }
 
+    var gradings = tumorgradingCatalogue.getAllByParentId(id);
+    var germlineDiagnoses = keimbahndiagnoseCatalogue.getAllByParentId(id);
+
+    // Resolve property catalogue entries of diagnosis, gradings and germline diagnoses at once
+    propertyCatalogue.resolve(
+        new PropertyCatalogue.Batch()
+            .registerAll(data)
+            .registerAll(gradings)
+            .registerAll(germlineDiagnoses));
+
     var builder = MtbDiagnosis.builder();
     builder
         .id(data.getString("id"))
@@ -107,9 +115,9 @@ public class KpaDiagnosisDataMapper implements DataMapper<MtbDiagnosis> {
         .recordedOn(data.getDate("datumerstdiagnose"))
         .topography(Coding.builder().code(data.getString("icdo3lokalisation")).build())
         .type(getType(data))
-        .grading(getGrading(id))
+        .grading(getGrading(gradings))
         .staging(getStaging(id))
-        .germlineCodes(getGermlineCodes(id))
+        .germlineCodes(getGermlineCodes(germlineDiagnoses))
         .histology(getHistologyReferences(id));
 
     data.ifPropertyNotNull(
@@ -135,10 +143,9 @@ public class KpaDiagnosisDataMapper implements DataMapper<MtbDiagnosis> {
   @Nullable
   private MtbDiagnosisGuidelineTreatmentStatusCoding getMtbDiagnosisGuidelineTreatmentStatusCoding(
       @NonNull final String code, @NonNull final Integer version) {
-    if (!Arrays.stream(MtbDiagnosisGuidelineTreatmentStatusCodingCode.values())
-        .map(MtbDiagnosisGuidelineTreatmentStatusCodingCode::toValue)
-        .collect(Collectors.toSet())
-        .contains(code)) {
+    final var codingCode =
+        CodingResolver.resolve(MtbDiagnosisGuidelineTreatmentStatusCodingCode.class, code);
+    if (null == codingCode) {
       return null;
     }
 
@@ -146,19 +153,15 @@ public class KpaDiagnosisDataMapper implements DataMapper<MtbDiagnosis> {
         MtbDiagnosisGuidelineTreatmentStatusCoding.builder()
             .display(propertyCatalogue.getByCodeAndVersion(code, version).getShortdesc())
             .system("dnpm-dip/mtb/diagnosis/guideline-treatment-status");
-    try {
-      resultBuilder.code(MtbDiagnosisGuidelineTreatmentStatusCodingCode.forValue(code));
-    } catch (IOException e) {
-      throw new IllegalStateException("No valid code found");
-    }
+    resultBuilder.code(codingCode);
 
     return resultBuilder.build();
   }
 
   @Nullable
-  private Grading getGrading(final int id) {
+  private Grading getGrading(final List<ResultSet> gradings) {
     var all =
-        tumorgradingCatalogue.getAllByParentId(id).stream()
+        gradings.stream()
             .map(
                 resultSet -> {
                   var builder = TumorGrading.builder().date(resultSet.getDate("zeitpunkt"));
@@ -231,8 +234,8 @@ public class KpaDiagnosisDataMapper implements DataMapper<MtbDiagnosis> {
   }
 
   @NullMarked
-  private List<Coding> getGermlineCodes(final int id) {
-    return keimbahndiagnoseCatalogue.getAllByParentId(id).stream()
+  private List<Coding> getGermlineCodes(final List<ResultSet> germlineDiagnoses) {
+    return germlineDiagnoses.stream()
         .map(
             it -> {
               final var icd10 = it.getString("icd10");
@@ -263,19 +266,12 @@ public class KpaDiagnosisDataMapper implements DataMapper<MtbDiagnosis> {
   private Type getType(@NonNull final ResultSet resultSet) {
     var diagnosisCoding = MtbDiagnosisCoding.builder();
     var code = resultSet.getString("diagnosetyp");
-    if (code == null
-        || !Arrays.stream(ValueCode.values())
-            .map(ValueCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(code)) {
+    final var codingCode = CodingResolver.resolve(ValueCode.class, code);
+    if (null == codingCode) {
       return null;
     }
 
-    try {
-      diagnosisCoding.code(ValueCode.forValue(code));
-    } catch (IOException e) {
-      throw new IllegalStateException("No valid code found");
-    }
+    diagnosisCoding.code(codingCode);
 
     return Type.builder()
         .history(
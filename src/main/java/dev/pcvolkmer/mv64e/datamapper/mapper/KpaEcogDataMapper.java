@@ -25,8 +25,6 @@ import dev.pcvolkmer.mv64e.datamapper.datacatalogues.EcogCatalogue;
 import dev.pcvolkmer.mv64e.mtb.EcogCoding;
 import dev.pcvolkmer.mv64e.mtb.EcogCodingCode;
 import dev.pcvolkmer.mv64e.mtb.PerformanceStatus;
-import java.io.IOException;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
@@ -89,22 +87,15 @@ public class KpaEcogDataMapper extends AbstractSubformDataMapper<PerformanceStat
 
   @Nullable
   private EcogCoding getEcogCoding(@Nullable final String value) {
-    if (null == value
-        || !Arrays.stream(EcogCodingCode.values())
-            .map(EcogCodingCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(value)) {
+    final var codingCode = CodingResolver.resolve(EcogCodingCode.class, value);
+    if (null == codingCode) {
       return null;
     }
 
     var resultBuilder = EcogCoding.builder().system("ECOG-Performance-Status");
 
-    try {
-      resultBuilder.code(EcogCodingCode.forValue(value));
-      resultBuilder.display(String.format("ECOG %s", value));
-    } catch (IOException e) {
-      throw new IllegalStateException("No valid code found");
-    }
+    resultBuilder.code(codingCode);
+    resultBuilder.display(String.format("ECOG %s", value));
 
     return resultBuilder.build();
   }
@@ -71,7 +71,9 @@ public class KpaHistologieDataMapper extends AbstractSubformDataMapper<Histology
   @NullMarked
   @Override
   public List<HistologyReport> getByParentId(final int parentId) {
-    return catalogue.getAllByParentId(parentId).stream()
+    final var resultSets = catalogue.getAllByParentId(parentId);
+    propertyCatalogue.resolve(new PropertyCatalogue.Batch().registerAll(resultSets));
+    return resultSets.stream()
         .map(this::map)
         .filter(Objects::nonNull)
         .distinct()
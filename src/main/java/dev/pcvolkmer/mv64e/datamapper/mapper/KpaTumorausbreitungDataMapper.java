@@ -23,10 +23,7 @@ package dev.pcvolkmer.mv64e.datamapper.mapper;
 import dev.pcvolkmer.mv64e.datamapper.ResultSet;
 import dev.pcvolkmer.mv64e.datamapper.datacatalogues.TumorausbreitungCatalogue;
 import dev.pcvolkmer.mv64e.mtb.*;
-import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -72,21 +69,14 @@ public class KpaTumorausbreitungDataMapper extends AbstractSubformDataMapper<Tum
 
   @Nullable
   private TumorStagingMethodCoding getTumorStagingMethodCoding(final String value) {
-    if (value == null
-        || !Arrays.stream(TumorStagingMethodCodingCode.values())
-            .map(TumorStagingMethodCodingCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(value)) {
+    final var codingCode = CodingResolver.resolve(TumorStagingMethodCodingCode.class, value);
+    if (null == codingCode) {
       return null;
     }
 
     var resultBuilder =
         TumorStagingMethodCoding.builder().system("dnpm-dip/mtb/tumor-staging/method");
-    try {
-      resultBuilder.code(TumorStagingMethodCodingCode.forValue(value));
-    } catch (IOException e) {
-      throw new IllegalStateException("No valid code found");
-    }
+    resultBuilder.code(codingCode);
 
     return resultBuilder.build();
   }
@@ -26,8 +26,6 @@ import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
 import dev.pcvolkmer.mv64e.mtb.FamilyMemberHistory;
 import dev.pcvolkmer.mv64e.mtb.FamilyMemberHistoryRelationshipTypeCoding;
 import dev.pcvolkmer.mv64e.mtb.FamilyMemberHistoryRelationshipTypeCodingCode;
-import java.util.Arrays;
-import java.util.stream.Collectors;
 import org.jspecify.annotations.Nullable;
 
 /**
@@ -75,11 +73,7 @@ public class KpaVerwandteDataMapper extends AbstractSubformDataMapper<FamilyMemb
   @Nullable
   private FamilyMemberHistoryRelationshipTypeCoding getFamilyMemberHistoryRelationshipTypeCoding(
       final @Nullable String value) {
-    if (value == null
-        || !Arrays.stream(FamilyMemberHistoryRelationshipTypeCodingCode.values())
-            .map(FamilyMemberHistoryRelationshipTypeCodingCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(value)) {
+    if (!CodingResolver.isValid(FamilyMemberHistoryRelationshipTypeCodingCode.class, value)) {
       return null;
     }
 
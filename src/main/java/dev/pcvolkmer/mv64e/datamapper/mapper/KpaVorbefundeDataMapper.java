@@ -29,8 +29,6 @@ import dev.pcvolkmer.mv64e.mtb.MolecularDiagnosticReportCoding;
 import dev.pcvolkmer.mv64e.mtb.MolecularDiagnosticReportCodingCode;
 import dev.pcvolkmer.mv64e.mtb.PriorDiagnosticReport;
 import dev.pcvolkmer.mv64e.mtb.Reference;
-import java.io.IOException;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -76,7 +74,9 @@ public class KpaVorbefundeDataMapper extends AbstractSubformDataMapper<PriorDiag
   @Override
   public List<PriorDiagnosticReport> getByParentId(final int parentId) {
     try {
-      return catalogue.getAllByParentId(parentId).stream()
+      final var resultSets = catalogue.getAllByParentId(parentId);
+      propertyCatalogue.resolve(new PropertyCatalogue.Batch().registerAll(resultSets));
+      return resultSets.stream()
           .map(this::map)
           .filter(Objects::nonNull)
           .distinct()
@@ -116,21 +116,15 @@ public class KpaVorbefundeDataMapper extends AbstractSubformDataMapper<PriorDiag
   @Nullable
   private MolecularDiagnosticReportCoding getMolecularDiagnosticReportCoding(
       @NonNull String value, @NonNull Integer version) {
-    if (!Arrays.stream(MolecularDiagnosticReportCodingCode.values())
-        .map(MolecularDiagnosticReportCodingCode::toValue)
-        .collect(Collectors.toSet())
-        .contains(value)) {
+    final var codingCode = CodingResolver.resolve(MolecularDiagnosticReportCodingCode.class, value);
+    if (null == codingCode) {
       return null;
     }
 
     var resultBuilder =
         MolecularDiagnosticReportCoding.builder()
             .display(propertyCatalogue.getByCodeAndVersion(value, version).getShortdesc());
-    try {
-      resultBuilder.code(MolecularDiagnosticReportCodingCode.forValue(value));
-    } catch (IOException e) {
-      return null;
-    }
+    resultBuilder.code(codingCode);
 
     return resultBuilder.build();
   }
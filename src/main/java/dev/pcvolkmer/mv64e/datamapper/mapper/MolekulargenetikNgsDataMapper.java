@@ -29,13 +29,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.jspecify.annotations.NonNull;
 import org.jspecify.annotations.Nullable;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * Mapper class to load and map prozedur data from database table 'dk_molekulargenetik'
@@ -45,7 +42,9 @@ import org.slf4j.LoggerFactory;
  */
 public class MolekulargenetikNgsDataMapper implements DataMapper<SomaticNgsReport> {
 
-  private static final Logger logger = LoggerFactory.getLogger(MolekulargenetikNgsDataMapper.class);
+  // Warnings are repeated for each report and variant, so log each distinct message only once
+  private static final DeduplicatingLogger logger =
+      DeduplicatingLogger.getLogger(MolekulargenetikNgsDataMapper.class);
   private final MolekulargenetikCatalogue catalogue;
   private final MolekulargenuntersuchungCatalogue untersuchungCatalogue;
   private final TumorCellContentMethodCodingCode tumorCellContentMethod;
@@ -69,6 +68,12 @@ public class MolekulargenetikNgsDataMapper implements DataMapper<SomaticNgsRepor
   @Nullable
   @Override
   public SomaticNgsReport getById(final int id) {
+    // Reports are used for NGS reports and MSI findings, so map each report once per Mtb file
+    return RowCache.getMapped(MolekulargenetikNgsDataMapper.class, catalogue, id, this::mapById);
+  }
+
+  @Nullable
+  private SomaticNgsReport mapById(final int id) {
     var data = catalogue.getById(id);
 
     if (!catalogue.isOfTypeSeqencing(id)) {
@@ -134,6 +139,14 @@ public class MolekulargenetikNgsDataMapper implements DataMapper<SomaticNgsRepor
   private NgsReportResults getNgsReportResults(ResultSet resultSet) {
     var subforms = this.untersuchungCatalogue.getAllByParentId(resultSet.getId());
 
+    // Resolve all genes of this report in one pass
+    final var genes =
+        GeneUtils.findAllBySymbols(
+            subforms.stream()
+                .filter(subform -> List.of("P", "CNV").contains(subform.getString("ergebnis")))
+                .flatMap(subform -> reportedGeneSymbols(subform).stream())
+                .collect(Collectors.toSet()));
+
     var resultBuilder = NgsReportResults.builder();
 
     final var tumorzellgehalt = resultSet.getLong("tumorzellgehalt");
@@ -165,17 +178,15 @@ public class MolekulargenetikNgsDataMapper implements DataMapper<SomaticNgsRepor
                 subform -> {
                   final var untersucht = subform.getString("untersucht");
                   if (null == untersucht) {
-                    logger.warn("No gene symbol found for simple variant {}", subform);
+                    logger.warn("No gene symbol found for simple variant {}", subform.getId());
                     return null;
                   }
-                  final var geneOptional = GeneUtils.findBySymbol(untersucht);
-                  if (geneOptional.isEmpty()) {
+                  final var gene = genes.get(untersucht);
+                  if (null == gene) {
                     logger.warn("Gene symbol {} not found in gene catalogue", untersucht);
                     return null;
                   }
 
-                  var gene = geneOptional.get();
-
                   final var snvBuilder =
                       Snv.builder()
                           .id(subform.getString("id"))
@@ -256,44 +267,31 @@ public class MolekulargenetikNgsDataMapper implements DataMapper<SomaticNgsRepor
                 subform -> {
                   final var untersucht = subform.getString("untersucht");
                   if (null == untersucht) {
-                    logger.warn("No gene symbol found for CNV {}", subform);
+                    logger.warn("No gene symbol found for CNV {}", subform.getId());
                     return null;
                   }
-                  final var geneOptional = GeneUtils.findBySymbol(untersucht);
-                  if (geneOptional.isEmpty()) {
+                  final var gene = genes.get(untersucht);
+                  if (null == gene) {
                     logger.warn("Gene symbol {} not found in gene catalogue", untersucht);
                     return null;
                   }
 
-                  final var reportedAffectedGenes = new ArrayList<String>();
-                  reportedAffectedGenes.add(untersucht);
-
-                  // Weitere betroffene Gene aus Freitextfeld?
-                  if (null != subform.getString("cnvbetroffenegene")) {
-                    reportedAffectedGenes.addAll(
-                        Arrays.stream(subform.getString("cnvbetroffenegene").split("\\s"))
-                            .collect(Collectors.toList()));
-                  }
-
                   final var cnvBuilder =
                       Cnv.builder()
                           .id(subform.getString("id"))
                           .patient(subform.getPatientReference())
                           .reportedAffectedGenes(
-                              reportedAffectedGenes.stream()
+                              reportedGeneSymbols(subform).stream()
                                   .distinct()
-                                  .map(GeneUtils::findBySymbol)
-                                  .filter(Optional::isPresent)
-                                  .map(gene -> GeneUtils.toCoding(gene.get()))
+                                  .map(genes::get)
+                                  .filter(Objects::nonNull)
+                                  .map(GeneUtils::toCoding)
                                   .collect(Collectors.toList()))
                           .totalCopyNumber(subform.getLong("cnvtotalcn"));
 
                   if (getCnvTypeCoding(subform) != null) cnvBuilder.type(getCnvTypeCoding(subform));
 
-                  geneOptional
-                      .get()
-                      .getSingleChromosomeInPropertyForm()
-                      .ifPresent(cnvBuilder::chromosome);
+                  gene.getSingleChromosomeInPropertyForm().ifPresent(cnvBuilder::chromosome);
 
                   return cnvBuilder.build();
                 })
@@ -302,6 +300,29 @@ public class MolekulargenetikNgsDataMapper implements DataMapper<SomaticNgsRepor
     return resultBuilder.build();
   }
 
+  /**
+   * Returns the gene symbols reported in a subform: The examined gene and - for CNVs - the affected
+   * genes listed in free text field 'cnvbetroffenegene'.
+   *
+   * @param subform The subform result set
+   * @return The reported gene symbols
+   */
+  private static List<String> reportedGeneSymbols(ResultSet subform) {
+    final var result = new ArrayList<String>();
+    final var untersucht = subform.getString("untersucht");
+    if (null == untersucht) {
+      return result;
+    }
+    result.add(untersucht);
+
+    // Weitere betroffene Gene aus Freitextfeld?
+    final var cnvbetroffenegene = subform.getString("cnvbetroffenegene");
+    if ("CNV".equals(subform.getString("ergebnis")) && null != cnvbetroffenegene) {
+      result.addAll(Arrays.asList(cnvbetroffenegene.split("\\s")));
+    }
+    return result;
+  }
+
   @Nullable
   private CnvCoding getCnvTypeCoding(ResultSet osMolResultSet) {
 
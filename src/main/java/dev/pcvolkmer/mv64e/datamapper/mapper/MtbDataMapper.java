@@ -25,9 +25,23 @@ import static dev.pcvolkmer.mv64e.datamapper.mapper.exceptionhandler.TryAndLog.t
 import dev.pcvolkmer.mv64e.datamapper.PropertyCatalogue;
 import dev.pcvolkmer.mv64e.datamapper.datacatalogues.*;
 import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
+import dev.pcvolkmer.mv64e.datamapper.exceptions.IgnorableMappingException;
+import dev.pcvolkmer.mv64e.datamapper.genes.GeneUtils;
+import dev.pcvolkmer.mv64e.datamapper.mapper.exceptionhandler.MappingIssues;
 import dev.pcvolkmer.mv64e.mtb.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
 import org.jspecify.annotations.NullMarked;
@@ -44,13 +58,18 @@ import org.springframework.jdbc.core.JdbcTemplate;
  */
 public class MtbDataMapper implements DataMapper<Mtb> {
 
+  /** Maximum number of Mtb files loaded at once by {@link #getByIds(Collection)} */
+  private static final int MAX_CASES_PER_CHUNK = 50;
+
   private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
   private final DataCatalogueFactory catalogueFactory;
   private final PropertyCatalogue propertyCatalogue;
+  private final KpaFormTreeLoader formTreeLoader;
 
   private boolean filterIncomplete;
   private TumorCellContentMethodCodingCode tumorCellContentMethod;
+  private Executor executor;
 
   // In Würzburg immer histologisch!
   MtbDataMapper(final JdbcTemplate jdbcTemplate) {
@@ -61,8 +80,9 @@ public class MtbDataMapper implements DataMapper<Mtb> {
       final JdbcTemplate jdbcTemplate,
       final boolean filterIncomplete,
       final TumorCellContentMethodCodingCode tumorCellContentMethod) {
-    this.catalogueFactory = DataCatalogueFactory.initialize(jdbcTemplate);
-    this.propertyCatalogue = PropertyCatalogue.initialize(jdbcTemplate);
+    this.catalogueFactory = DataCatalogueFactory.of(jdbcTemplate);
+    this.propertyCatalogue = PropertyCatalogue.of(jdbcTemplate);
+    this.formTreeLoader = new KpaFormTreeLoader(jdbcTemplate, this.catalogueFactory);
     this.filterIncomplete = filterIncomplete;
     this.tumorCellContentMethod = tumorCellContentMethod;
   }
@@ -146,6 +166,109 @@ public class MtbDataMapper implements DataMapper<Mtb> {
     return this;
   }
 
+  /**
+   * Sets an external gene file to be used instead of the bundled gene list. The file will be loaded
+   * in background and checked for modifications on each export. Modified files will be reloaded in
+   * background and replace the genes in use without pausing running exports.
+   *
+   * <p>Gene lookups are shared by all mapper instances, so the gene file applies to all of them.
+   *
+   * @param geneFile The gene list in HGNC download format or a binary gene index
+   * @return Instance of MtbDataMapper using the gene file
+   */
+  @NullMarked
+  public MtbDataMapper geneFile(final Path geneFile) {
+    GeneUtils.useGeneFile(geneFile);
+    return this;
+  }
+
+  /**
+   * Sets the JDBC fetch size used to read procedures, sub procedures and "Merkmale". Larger values
+   * reduce database round trips for forms with many sub procedures.
+   *
+   * <p>Data catalogues are shared by all mapper instances using the same data source, so the fetch
+   * size applies to all of them.
+   *
+   * @param fetchSize The fetch size or zero to use the fetch size of the JdbcTemplate
+   * @return Instance of MtbDataMapper using the fetch size
+   */
+  @NullMarked
+  public MtbDataMapper fetchSize(final int fetchSize) {
+    this.catalogueFactory.fetchSize(fetchSize);
+    return this;
+  }
+
+  /**
+   * Loads all entries of the property catalogue versions used by the forms into memory, so coded
+   * values of these versions will be mapped without database access. Codes not found in these
+   * versions will still be requested from database. If loading fails, a warning will be logged and
+   * entries will be requested from database on demand.
+   *
+   * <p>Property catalogues are shared by all mapper instances using the same data source.
+   *
+   * @param versions The property catalogue versions
+   * @return Instance of MtbDataMapper using the preloaded versions
+   */
+  @NullMarked
+  public MtbDataMapper preloadPropertyVersions(final Collection<Integer> versions) {
+    try {
+      this.propertyCatalogue.preload(versions);
+    } catch (DataAccessException e) {
+      logger.warn("Cannot preload property catalogue versions: {}", e.getMessage());
+    }
+    return this;
+  }
+
+  /**
+   * Loads all entries of the property catalogue versions used by the forms into memory using a
+   * local snapshot file. Versions not contained in the snapshot file will be loaded from database
+   * and written into the snapshot file, so subsequent starts will not access the database.
+   *
+   * @param versions The property catalogue versions
+   * @param snapshot The path of the snapshot file
+   * @return Instance of MtbDataMapper using the preloaded versions
+   * @see #preloadPropertyVersions(Collection)
+   */
+  @NullMarked
+  public MtbDataMapper preloadPropertyVersions(
+      final Collection<Integer> versions, final Path snapshot) {
+    try {
+      this.propertyCatalogue.preload(versions, snapshot);
+    } catch (DataAccessException | IOException e) {
+      logger.warn("Cannot preload property catalogue versions: {}", e.getMessage());
+    }
+    return this;
+  }
+
+  /**
+   * Sets an executor to load independent sections of a Mtb file concurrently, e.g. diagnosis,
+   * care plans and NGS reports. Sections depending on other sections will be loaded when those are
+   * available. If not set, all sections will be loaded sequentially in the calling thread.
+   *
+   * @param executor The executor to be used
+   * @return Instance of MtbDataMapper using the executor
+   */
+  @NullMarked
+  public MtbDataMapper executor(final Executor executor) {
+    this.executor = executor;
+    return this;
+  }
+
+  /**
+   * Creates stackless exceptions for ignorable mapping issues, e.g. missing values in incomplete
+   * forms. The message of each issue will still be logged and, when mapping multiple Mtb files,
+   * available in {@link MtbMappingResult#getIssues()}.
+   *
+   * <p>Exceptions are shared by all mapper instances, so this applies to all of them.
+   *
+   * @return Instance of MtbDataMapper using stackless exceptions
+   */
+  @NullMarked
+  public MtbDataMapper stacklessMappingExceptions() {
+    IgnorableMappingException.setStackTraceEnabled(false);
+    return this;
+  }
+
   /**
    * Loads and maps a Mtb file using the root procedures database id
    *
@@ -155,6 +278,20 @@ public class MtbDataMapper implements DataMapper<Mtb> {
   @Override
   @NullMarked
   public Mtb getById(int kpaId) {
+    // Reload modified gene file in background, if any
+    GeneUtils.refreshGeneFile();
+
+    // Read each row at most once while mapping this Mtb file
+    try (var summary = DeduplicatingLogger.Summary.open();
+        var rowCache = RowCache.open()) {
+      // Load all forms with as few queries as possible before mapping
+      formTreeLoader.load(kpaId);
+      return map(kpaId, rowCache);
+    }
+  }
+
+  /** Maps a Mtb file using the row cache and issue collector open for the current thread */
+  Mtb map(int kpaId, RowCache rowCache) {
     var kpaCatalogue = catalogueFactory.catalogue(KpaCatalogue.class);
     var patientDataMapper =
         new PatientDataMapper(catalogueFactory.catalogue(PatientCatalogue.class));
@@ -228,49 +365,144 @@ public class MtbDataMapper implements DataMapper<Mtb> {
             catalogueFactory.catalogue(ConsentMvVerlaufCatalogue.class));
 
     var resultBuilder = Mtb.builder();
+    // Sections depending on other sections may run on worker threads without any collector
+    var mappingIssues = MappingIssues.current().orElse(null);
 
     try {
-      var kpaPatient = kpaPatientDataMapper.getById(kpaId);
-      var patient = patientDataMapper.getById(Integer.parseInt(kpaPatient.getId()));
-      kpaPatient.setId(patient.getId());
-      kpaPatient.setAddress(patient.getAddress());
-
-      var specimens =
-          tryAndLogWithResult(() -> diagnosisDataMapper.getById(kpaId))
-              .andTryWithResult(
-                  diagnosis -> {
-                    // DNPM Klinik/Anamnese
-                    resultBuilder.diagnoses(List.of(diagnosis));
-                    return diagnosis;
-                  })
-              .andTryWithResult(
-                  diagnosis ->
-                      molekulargenetikToSpecimenDataMapper.getAllByKpaId(
-                          kpaId,
-                          Reference.builder().id(diagnosis.getId()).type("MTBDiagnosis").build()))
-              .andTryWithResult(
-                  specimenList -> {
-                    // Tumorproben
-                    resultBuilder.specimens(specimenList);
-                    return specimenList;
-                  })
-              .okOrNull();
-
-      var carePlans =
-          therapieplanCatalogue.getByKpaId(kpaId).stream().map(therapieplanDataMapper::getById);
-
-      var msiFindings =
-          molekulargenetikNgsDataMapper
-              .getAllByKpaIdWithHisto(
-                  kpaId, kpaHistologieDataMapper.getMolGenIdsFromHistoOfTypeSequence(kpaId))
-              .stream()
-              .map(ngs -> Integer.parseInt(ngs.getId()))
-              .flatMap(ngsId -> molekulargenetikMsiDataMapper.getByParentId(ngsId).stream())
-              .filter(Objects::nonNull)
-              .filter(msi -> msi.getInterpretation() != null); // always filter incomplete MSI
-      // as not needed for MVH and
-      // interpretation not
-      // implemented
+      var patientSection =
+          section(
+              rowCache,
+              mappingIssues,
+              () -> {
+                var kpaPatient = kpaPatientDataMapper.getById(kpaId);
+                var patient = patientDataMapper.getById(Integer.parseInt(kpaPatient.getId()));
+                kpaPatient.setId(patient.getId());
+                kpaPatient.setAddress(patient.getAddress());
+                return kpaPatient;
+              });
+
+      // DNPM Klinik/Anamnese
+      var diagnosisSection =
+          section(
+              rowCache,
+              mappingIssues,
+              () -> tryAndLogWithResult(() -> diagnosisDataMapper.getById(kpaId)).okOrNull());
+
+      // Tumorproben - require the diagnosis to be referenced
+      var specimensSection =
+          diagnosisSection.thenCompose(
+              diagnosis ->
+                  section(
+                      rowCache,
+                      mappingIssues,
+                      () -> {
+                        if (null == diagnosis) {
+                          return null;
+                        }
+                        var diagnosisReference =
+                            Reference.builder().id(diagnosis.getId()).type("MTBDiagnosis").build();
+                        return tryAndLogWithResult(
+                                () ->
+                                    molekulargenetikToSpecimenDataMapper.getAllByKpaId(
+                                        kpaId, diagnosisReference))
+                            .okOrNull();
+                      }));
+
+      var carePlansSection =
+          section(
+              rowCache,
+              mappingIssues,
+              () ->
+                  therapieplanCatalogue.getByKpaId(kpaId).stream()
+                      .map(therapieplanDataMapper::getById)
+                      .collect(Collectors.toList()));
+
+      var ngsReportsSection =
+          section(
+              rowCache,
+              mappingIssues,
+              () ->
+                  molekulargenetikNgsDataMapper.getAllByKpaIdWithHisto(
+                      kpaId, kpaHistologieDataMapper.getMolGenIdsFromHistoOfTypeSequence(kpaId)));
+
+      // MSI Befunde - require the NGS reports
+      var msiFindingsSection =
+          ngsReportsSection.thenCompose(
+              ngsReports ->
+                  section(
+                      rowCache,
+                      mappingIssues,
+                      () ->
+                          ngsReports.stream()
+                              .map(ngs -> Integer.parseInt(ngs.getId()))
+                              .flatMap(
+                                  ngsId ->
+                                      molekulargenetikMsiDataMapper.getByParentId(ngsId).stream())
+                              .filter(Objects::nonNull)
+                              // always filter incomplete MSI as not needed for MVH and
+                              // interpretation not implemented
+                              .filter(msi -> msi.getInterpretation() != null)
+                              .collect(Collectors.toList())));
+
+      var episodeSection =
+          section(rowCache, mappingIssues, () -> mtbEpisodeDataMapper.getById(kpaId));
+      var ecogSection = section(rowCache, mappingIssues, () -> ecogMapper.getByParentId(kpaId));
+      var verwandteSection =
+          section(rowCache, mappingIssues, () -> verwandteDataMapper.getByParentId(kpaId));
+      var vorbefundeSection =
+          section(rowCache, mappingIssues, () -> kpaVorbefundeDataMapper.getByParentId(kpaId));
+      var histologieSection =
+          section(rowCache, mappingIssues, () -> kpaHistologieDataMapper.getByParentId(kpaId));
+      var prozedurSection =
+          section(
+              rowCache,
+              mappingIssues,
+              () -> tryAndLogWithResult(() -> prozedurMapper.getByParentId(kpaId)).ok());
+      var therapielinieSection =
+          section(
+              rowCache,
+              mappingIssues,
+              () -> tryAndLogWithResult(() -> therapielinieMapper.getByParentId(kpaId)).ok());
+
+      // Consent - as far as present
+      var consentSection =
+          section(
+              rowCache,
+              mappingIssues,
+              () -> {
+                var consentId = kpaCatalogue.getById(kpaId).getInteger("consentmv64e");
+                return null == consentId ? null : consentMvDataMapper.getById(consentId);
+              });
+
+      // Wait for all sections, so no section is still running after mapping failed
+      CompletableFuture.allOf(
+              patientSection,
+              specimensSection,
+              carePlansSection,
+              msiFindingsSection,
+              episodeSection,
+              ecogSection,
+              verwandteSection,
+              vorbefundeSection,
+              histologieSection,
+              prozedurSection,
+              therapielinieSection,
+              consentSection)
+          .exceptionally(e -> null)
+          .join();
+
+      var kpaPatient = join(patientSection);
+      var diagnosis = join(diagnosisSection);
+      var specimens = join(specimensSection);
+      if (null != diagnosis) {
+        resultBuilder.diagnoses(List.of(diagnosis));
+      }
+      if (null != specimens) {
+        resultBuilder.specimens(specimens);
+      }
+
+      var carePlans = join(carePlansSection).stream();
+      var msiFindings = join(msiFindingsSection).stream();
 
       if (this.filterIncomplete && specimens != null) {
         carePlans =
@@ -299,36 +531,28 @@ public class MtbDataMapper implements DataMapper<Mtb> {
 
       resultBuilder
           .patient(kpaPatient)
-          .episodesOfCare(List.of(mtbEpisodeDataMapper.getById(kpaId)))
-          .performanceStatus(ecogMapper.getByParentId(kpaId))
-          .familyMemberHistories(verwandteDataMapper.getByParentId(kpaId))
+          .episodesOfCare(List.of(join(episodeSection)))
+          .performanceStatus(join(ecogSection))
+          .familyMemberHistories(join(verwandteSection))
           // Vorbefunde
-          .priorDiagnosticReports(kpaVorbefundeDataMapper.getByParentId(kpaId))
+          .priorDiagnosticReports(join(vorbefundeSection))
           // Histologie-Berichte
-          .histologyReports(kpaHistologieDataMapper.getByParentId(kpaId))
+          .histologyReports(join(histologieSection))
           // DNPM Therapieplan
           .carePlans(carePlans.collect(Collectors.toList()))
           // NGS Berichte
-          .ngsReports(
-              molekulargenetikNgsDataMapper.getAllByKpaIdWithHisto(
-                  kpaId, kpaHistologieDataMapper.getMolGenIdsFromHistoOfTypeSequence(kpaId)))
+          .ngsReports(join(ngsReportsSection))
           // MSI Befunde
           .msiFindings(msiFindings.collect(Collectors.toList()));
 
-      tryAndLogWithResult(() -> prozedurMapper.getByParentId(kpaId))
-          .ok()
-          .ifPresent(resultBuilder::guidelineProcedures);
-
-      tryAndLogWithResult(() -> therapielinieMapper.getByParentId(kpaId))
-          .ok()
-          .ifPresent(resultBuilder::guidelineTherapies);
+      join(prozedurSection).ifPresent(resultBuilder::guidelineProcedures);
+      join(therapielinieSection).ifPresent(resultBuilder::guidelineTherapies);
 
-      // Consent - as far as present
-      var consentId = kpaCatalogue.getById(kpaId).getInteger("consentmv64e");
-      if (null != consentId) {
+      var modelProjectConsent = join(consentSection);
+      if (null != modelProjectConsent) {
         resultBuilder.metadata(
             MvhMetadata.builder()
-                .modelProjectConsent(consentMvDataMapper.getById(consentId))
+                .modelProjectConsent(modelProjectConsent)
                 .type(MvhSubmissionType.INITIAL)
                 .build());
       }
@@ -340,6 +564,43 @@ public class MtbDataMapper implements DataMapper<Mtb> {
     return resultBuilder.build();
   }
 
+  /**
+   * Loads a section of the Mtb file. If an executor is set, the section will be loaded
+   * asynchronously using the row cache, issue collector and log summary of the export, otherwise it
+   * will be loaded immediately.
+   */
+  <T> CompletableFuture<T> section(
+      RowCache rowCache, @Nullable MappingIssues mappingIssues, Supplier<T> supplier) {
+    if (null == this.executor) {
+      return CompletableFuture.completedFuture(supplier.get());
+    }
+    var summary = DeduplicatingLogger.Summary.current().orElse(null);
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try (var attachedRowCache = rowCache.attach();
+              var attachedMappingIssues = null == mappingIssues ? null : mappingIssues.attach();
+              var attachedSummary = null == summary ? null : summary.attach()) {
+            return supplier.get();
+          }
+        },
+        this.executor);
+  }
+
+  /** Get the loaded section of the Mtb file and rethrow the exception of a failed section */
+  private static <T> T join(CompletableFuture<T> section) {
+    try {
+      return section.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
+    }
+  }
+
   /**
    * Loads and maps a Mtb file using the case id
    *
@@ -356,6 +617,100 @@ public class MtbDataMapper implements DataMapper<Mtb> {
         this.catalogueFactory.catalogue(KpaCatalogue.class).getProcedureIdByCaseId(caseId));
   }
 
+  /**
+   * Loads and maps multiple Mtb files using the root procedures database ids. KPA and Therapieplan
+   * form trees are loaded for up to {@link #MAX_CASES_PER_CHUNK} Mtb files at once using one query
+   * per table, other sections are queried per Mtb file. Failing Mtb files will not abort mapping of
+   * the other Mtb files.
+   *
+   * @param kpaIds The database ids of the root procedure data sets
+   * @return The mapping results by database id in iteration order of given ids
+   */
+  @NullMarked
+  public Map<Integer, MtbMappingResult> getByIds(Collection<Integer> kpaIds) {
+    // Reload modified gene file in background, if any
+    GeneUtils.refreshGeneFile();
+
+    var ids = List.copyOf(new LinkedHashSet<>(kpaIds));
+    var result = new LinkedHashMap<Integer, MtbMappingResult>();
+    try (var summary = DeduplicatingLogger.Summary.open()) {
+      for (var i = 0; i < ids.size(); i += MAX_CASES_PER_CHUNK) {
+        var chunk = ids.subList(i, Math.min(i + MAX_CASES_PER_CHUNK, ids.size()));
+        try (var rowCache = RowCache.open()) {
+          formTreeLoader.load(chunk);
+          chunk.forEach(kpaId -> result.put(kpaId, tryMap(kpaId)));
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Loads and maps multiple Mtb files using the case ids. All case ids are resolved using one query
+   * per chunk of case ids.
+   *
+   * @param caseIds The case ids
+   * @return The mapping results by case id in iteration order of given case ids
+   * @see #getByIds(Collection)
+   */
+  @NullMarked
+  public Map<String, MtbMappingResult> getByCaseIds(Collection<String> caseIds) {
+    var distinctCaseIds = new LinkedHashSet<>(caseIds);
+    var procedureIds =
+        this.catalogueFactory
+            .catalogue(KpaCatalogue.class)
+            .getProcedureIdsByCaseIds(
+                distinctCaseIds.stream()
+                    .filter(caseId -> !caseId.isBlank())
+                    .collect(Collectors.toList()));
+
+    var failures = new HashMap<String, MtbMappingResult>();
+    var kpaIds = new HashMap<String, Integer>();
+    for (var caseId : distinctCaseIds) {
+      var ids = procedureIds.getOrDefault(caseId, List.of());
+      if (caseId.isBlank()) {
+        failures.put(
+            caseId,
+            MtbMappingResult.failure(
+                new IllegalArgumentException("The Case ID must not be null or empty")));
+      } else if (ids.isEmpty()) {
+        failures.put(
+            caseId,
+            MtbMappingResult.failure(
+                new DataAccessException("No record found for case: " + caseId)));
+      } else if (ids.size() > 1) {
+        failures.put(
+            caseId,
+            MtbMappingResult.failure(
+                new DataAccessException("Multiple procedure IDs found for case: " + caseId)));
+      } else {
+        kpaIds.put(caseId, ids.get(0));
+      }
+    }
+
+    var mtbs = this.getByIds(kpaIds.values());
+    var result = new LinkedHashMap<String, MtbMappingResult>();
+    for (var caseId : distinctCaseIds) {
+      var kpaId = kpaIds.get(caseId);
+      result.put(
+          caseId, Objects.requireNonNull(null == kpaId ? failures.get(caseId) : mtbs.get(kpaId)));
+    }
+    return result;
+  }
+
+  private MtbMappingResult tryMap(int kpaId) {
+    // Join the row cache of the chunk, mapped values must not be shared with other Mtb files
+    try (var mappingIssues = MappingIssues.open();
+        var rowCache = RowCache.open()) {
+      try {
+        return MtbMappingResult.success(map(kpaId, rowCache), mappingIssues.getIssues());
+      } catch (RuntimeException e) {
+        logger.error("Cannot map Mtb file of KPA procedure {}", kpaId, e);
+        return MtbMappingResult.failure(e, mappingIssues.getIssues());
+      }
+    }
+  }
+
   /**
    * Loads and maps a Mtb file using the patient id and tumor id
    *
@@ -0,0 +1,139 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.pcvolkmer.mv64e.mtb.Mtb;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.TimeZone;
+import java.util.zip.GZIPOutputStream;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * Writes Mtb files as JSON directly to an output stream or writer without creating an intermediate
+ * JSON string. Dates are written like {@link dev.pcvolkmer.mv64e.mtb.Converter} does, using format
+ * "yyyy-MM-dd" in UTC timezone.
+ *
+ * <p>Given output streams and writers will be flushed but not closed.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@NullMarked
+public final class MtbJsonWriter {
+
+  private static final ObjectWriter WRITER = createWriter();
+
+  private MtbJsonWriter() {
+    // utility class
+  }
+
+  private static ObjectWriter createWriter() {
+    final var dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+    dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    final var objectMapper = new ObjectMapper();
+    objectMapper.findAndRegisterModules();
+    // ObjectWriter creates a copy of the date format for each write
+    objectMapper.setDateFormat(dateFormat);
+    return objectMapper.writerFor(Mtb.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  }
+
+  /**
+   * Writes the Mtb file as UTF-8 encoded JSON
+   *
+   * @param mtb The Mtb file
+   * @param outputStream The output stream to write to
+   * @throws IOException if the Mtb file cannot be written
+   */
+  public static void write(Mtb mtb, OutputStream outputStream) throws IOException {
+    WRITER.writeValue(outputStream, mtb);
+  }
+
+  /**
+   * Writes the Mtb file as JSON
+   *
+   * @param mtb The Mtb file
+   * @param writer The writer to write to
+   * @throws IOException if the Mtb file cannot be written
+   */
+  public static void write(Mtb mtb, Writer writer) throws IOException {
+    WRITER.writeValue(writer, mtb);
+  }
+
+  /**
+   * Writes the Mtb file as gzip compressed UTF-8 encoded JSON. The JSON is compressed while being
+   * written.
+   *
+   * @param mtb The Mtb file
+   * @param outputStream The output stream to write the compressed JSON to
+   * @throws IOException if the Mtb file cannot be written
+   */
+  public static void writeGzip(Mtb mtb, OutputStream outputStream) throws IOException {
+    // Close the gzip output stream to release its deflater, but not the given output stream
+    try (var gzipOutputStream =
+        new GZIPOutputStream(new NonClosingOutputStream(outputStream), 8192)) {
+      write(mtb, gzipOutputStream);
+    }
+  }
+
+  /**
+   * Writes the Mtb file into a file. The JSON will be gzip compressed, if the file name ends with
+   * ".gz".
+   *
+   * @param mtb The Mtb file
+   * @param path The path of the file
+   * @throws IOException if the Mtb file cannot be written
+   */
+  public static void write(Mtb mtb, Path path) throws IOException {
+    try (var outputStream = Files.newOutputStream(path)) {
+      if (path.toString().endsWith(".gz")) {
+        writeGzip(mtb, outputStream);
+      } else {
+        write(mtb, outputStream);
+      }
+    }
+  }
+
+  private static final class NonClosingOutputStream extends FilterOutputStream {
+
+    private NonClosingOutputStream(OutputStream outputStream) {
+      super(outputStream);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+}
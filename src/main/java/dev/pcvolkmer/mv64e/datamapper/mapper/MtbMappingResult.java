@@ -0,0 +1,144 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.mapper;
+
+import dev.pcvolkmer.mv64e.datamapper.mapper.exceptionhandler.MappingIssue;
+import dev.pcvolkmer.mv64e.mtb.Mtb;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Result of mapping a single Mtb file as part of mapping multiple Mtb files. Contains either the
+ * mapped Mtb file or the exception causing the mapping of this Mtb file to fail, and the mapping
+ * issues ignored while mapping this Mtb file.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@NullMarked
+public final class MtbMappingResult {
+
+  private final @Nullable Mtb mtb;
+  private final @Nullable RuntimeException exception;
+  private final List<MappingIssue> issues;
+
+  private MtbMappingResult(
+      @Nullable Mtb mtb, @Nullable RuntimeException exception, List<MappingIssue> issues) {
+    this.mtb = mtb;
+    this.exception = exception;
+    this.issues = List.copyOf(issues);
+  }
+
+  /**
+   * Creates a successful result
+   *
+   * @param mtb The mapped Mtb file
+   * @return The result
+   */
+  public static MtbMappingResult success(Mtb mtb) {
+    return success(mtb, List.of());
+  }
+
+  /**
+   * Creates a successful result with mapping issues
+   *
+   * @param mtb The mapped Mtb file
+   * @param issues The mapping issues ignored while mapping the Mtb file
+   * @return The result
+   */
+  public static MtbMappingResult success(Mtb mtb, List<MappingIssue> issues) {
+    return new MtbMappingResult(mtb, null, issues);
+  }
+
+  /**
+   * Creates a failed result
+   *
+   * @param exception The exception causing the mapping to fail
+   * @return The result
+   */
+  public static MtbMappingResult failure(RuntimeException exception) {
+    return failure(exception, List.of());
+  }
+
+  /**
+   * Creates a failed result with mapping issues
+   *
+   * @param exception The exception causing the mapping to fail
+   * @param issues The mapping issues ignored before the mapping failed
+   * @return The result
+   */
+  public static MtbMappingResult failure(RuntimeException exception, List<MappingIssue> issues) {
+    return new MtbMappingResult(null, exception, issues);
+  }
+
+  /**
+   * Check if the Mtb file has been mapped
+   *
+   * @return true if the Mtb file has been mapped
+   */
+  public boolean isSuccess() {
+    return null == exception;
+  }
+
+  /**
+   * Get the mapped Mtb file
+   *
+   * @return An optional containing the Mtb file or an empty optional if mapping failed
+   */
+  public Optional<Mtb> getMtb() {
+    return Optional.ofNullable(mtb);
+  }
+
+  /**
+   * Get the exception causing the mapping to fail
+   *
+   * @return An optional containing the exception or an empty optional if mapping succeeded
+   */
+  public Optional<RuntimeException> getException() {
+    return Optional.ofNullable(exception);
+  }
+
+  /**
+   * Get the mapping issues ignored while mapping the Mtb file, e.g. missing values in incomplete
+   * forms
+   *
+   * @return The mapping issues in order of occurrence
+   */
+  public List<MappingIssue> getIssues() {
+    return issues;
+  }
+
+  /**
+   * Get the mapped Mtb file or throw the exception causing the mapping to fail
+   *
+   * @return The mapped Mtb file
+   * @throws RuntimeException The exception causing the mapping to fail
+   */
+  public Mtb orElseThrow() {
+    if (null != exception) {
+      throw exception;
+    }
+    return Objects.requireNonNull(mtb);
+  }
+}
@@ -26,8 +26,6 @@ import dev.pcvolkmer.mv64e.datamapper.datacatalogues.RebiopsieCatalogue;
 import dev.pcvolkmer.mv64e.datamapper.datacatalogues.ReevaluationCatalogue;
 import dev.pcvolkmer.mv64e.datamapper.datacatalogues.TherapieplanCatalogue;
 import dev.pcvolkmer.mv64e.mtb.*;
-import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.jspecify.annotations.Nullable;
@@ -153,20 +151,13 @@ public class TherapieplanDataMapper implements DataMapper<MtbCarePlan> {
   @Nullable
   private CarePlanNoSequencingPerformedReasonCoding getCarePlanNoSequencingPerformedReasonCoding(
       String value) {
-    if (value == null
-        || !Arrays.stream(NoSequencingPerformedReasonCode.values())
-            .map(NoSequencingPerformedReasonCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(value)) {
+    final var codingCode = CodingResolver.resolve(NoSequencingPerformedReasonCode.class, value);
+    if (null == codingCode) {
       return null;
     }
 
     var resultBuilder = CarePlanNoSequencingPerformedReasonCoding.builder();
-    try {
-      resultBuilder.code(NoSequencingPerformedReasonCode.forValue(value));
-    } catch (IOException e) {
-      return null;
-    }
+    resultBuilder.code(codingCode);
 
     return resultBuilder.build();
   }
@@ -175,24 +166,17 @@ public class TherapieplanDataMapper implements DataMapper<MtbCarePlan> {
   private GeneticCounselingRecommendationReasonCoding
       getGeneticCounselingRecommendationReasonCoding(
           @Nullable String value, @Nullable Integer version) {
-    if (value == null
-        || version == null
-        || !Arrays.stream(GeneticCounselingRecommendationReasonCodingCode.values())
-            .map(GeneticCounselingRecommendationReasonCodingCode::toValue)
-            .collect(Collectors.toSet())
-            .contains(value)) {
+    final var codingCode =
+        CodingResolver.resolve(GeneticCounselingRecommendationReasonCodingCode.class, value);
+    if (null == codingCode || version == null) {
       return null;
     }
 
     var resultBuilder =
         GeneticCounselingRecommendationReasonCoding.builder()
             .system("dnpm-dip/mtb/recommendation/genetic-counseling/reason");
-    try {
-      resultBuilder.code(GeneticCounselingRecommendationReasonCodingCode.forValue(value));
-      resultBuilder.display(propertyCatalogue.getByCodeAndVersion(value, version).getShortdesc());
-    } catch (IOException e) {
-      return null;
-    }
+    resultBuilder.code(codingCode);
+    resultBuilder.display(propertyCatalogue.getByCodeAndVersion(value, version).getShortdesc());
 
     return resultBuilder.build();
   }
@@ -0,0 +1,85 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.mapper.exceptionhandler;
+
+import java.util.Objects;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Mapping issue caused by an ignored {@link
+ * dev.pcvolkmer.mv64e.datamapper.exceptions.IgnorableMappingException}, e.g. missing values in an
+ * incomplete form.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@NullMarked
+public final class MappingIssue {
+
+  private final String source;
+  private final @Nullable String message;
+
+  MappingIssue(String source, @Nullable String message) {
+    this.source = source;
+    this.message = message;
+  }
+
+  /**
+   * Get the name of the logger used when the issue occurred, usually the data mappers class name
+   *
+   * @return The source of the issue
+   */
+  public String getSource() {
+    return source;
+  }
+
+  /**
+   * Get the message of the ignored exception
+   *
+   * @return The message
+   */
+  public @Nullable String getMessage() {
+    return message;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof MappingIssue)) {
+      return false;
+    }
+    final var that = (MappingIssue) o;
+    return source.equals(that.source) && Objects.equals(message, that.message);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(source, message);
+  }
+
+  @Override
+  public String toString() {
+    return source + ": " + message;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.mapper.exceptionhandler;
+
+import dev.pcvolkmer.mv64e.datamapper.exceptions.IgnorableMappingException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+
+/**
+ * Export scoped collector of mapping issues. While a collector is open for the current thread, all
+ * exceptions ignored by {@link TryAndLog} and {@link TryWithResult} will be recorded as {@link
+ * MappingIssue}.
+ *
+ * <p>Usage:
+ *
+ * <pre>{@code
+ * try (var mappingIssues = MappingIssues.open()) {
+ *   // Map the Mtb file
+ *   var issues = mappingIssues.getIssues();
+ * }
+ * }</pre>
+ *
+ * <p>Opening a collector while one is already open for the current thread will start a new one
+ * until closed. Worker threads mapping parts of the same export can use {@link #attach()} to record
+ * issues in the same collector.
+ *
+ * @author Paul-Christian Volkmer
+ * @since 0.5
+ */
+@NullMarked
+public final class MappingIssues implements AutoCloseable {
+
+  private static final ThreadLocal<@Nullable MappingIssues> CURRENT = new ThreadLocal<>();
+
+  private final Queue<MappingIssue> issues;
+  private final @Nullable MappingIssues previous;
+
+  private MappingIssues(Queue<MappingIssue> issues, @Nullable MappingIssues previous) {
+    this.issues = issues;
+    this.previous = previous;
+  }
+
+  /**
+   * Opens a new collector for the current thread
+   *
+   * @return The collector to be closed after use
+   */
+  public static MappingIssues open() {
+    final var mappingIssues = new MappingIssues(new ConcurrentLinkedQueue<>(), CURRENT.get());
+    CURRENT.set(mappingIssues);
+    return mappingIssues;
+  }
+
+  /**
+   * Attaches this collector to the current thread, e.g. a worker thread mapping a part of the same
+   * export. Closing the attached collector will detach it from the current thread only.
+   *
+   * @return The attached collector to be closed after use
+   */
+  public MappingIssues attach() {
+    final var mappingIssues = new MappingIssues(this.issues, CURRENT.get());
+    CURRENT.set(mappingIssues);
+    return mappingIssues;
+  }
+
+  /**
+   * Returns the collector open for the current thread
+   *
+   * @return An optional containing the collector or an empty optional if no collector is open
+   */
+  public static Optional<MappingIssues> current() {
+    return Optional.ofNullable(CURRENT.get());
+  }
+
+  /**
+   * Records the ignored exception in the collector open for the current thread, if any, and logs
+   * its message. The stack trace will only be logged if the exception has one.
+   *
+   * @param exception The ignored exception
+   * @param logger The logger to be used for logging the exception message
+   */
+  static void report(IgnorableMappingException exception, Logger logger) {
+    final var mappingIssues = CURRENT.get();
+    if (null != mappingIssues) {
+      mappingIssues.issues.add(new MappingIssue(logger.getName(), exception.getMessage()));
+    }
+    if (exception.getStackTrace().length == 0) {
+      logger.error(exception.getMessage());
+    } else {
+      logger.error(exception.getMessage(), exception);
+    }
+  }
+
+  /**
+   * Get all issues recorded so far
+   *
+   * @return The recorded issues in order of occurrence
+   */
+  public List<MappingIssue> getIssues() {
+    return List.copyOf(issues);
+  }
+
+  /** Closes the collector and restores the previous one of the current thread, if any. */
+  @Override
+  public void close() {
+    if (null == previous) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+}
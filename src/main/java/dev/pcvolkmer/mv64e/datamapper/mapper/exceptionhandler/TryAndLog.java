@@ -64,7 +64,7 @@ public class TryAndLog {
       final var value = supplier.get();
       return withValue(value, logger);
     } catch (IgnorableMappingException e) {
-      logger.error(e.getMessage(), e);
+      MappingIssues.report(e, logger);
       return withException(e, logger);
     }
   }
@@ -91,7 +91,7 @@ public class TryAndLog {
       runnable.run();
       return Try.clean(logger);
     } catch (IgnorableMappingException e) {
-      logger.error(e.getMessage(), e);
+      MappingIssues.report(e, logger);
       return Try.withException(e, logger);
     }
   }
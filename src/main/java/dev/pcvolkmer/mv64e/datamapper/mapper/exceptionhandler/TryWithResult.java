@@ -77,7 +77,7 @@ public class TryWithResult<O> extends AbstractLoggable implements Catchable {
       }
       return empty(this.logger);
     } catch (IgnorableMappingException e) {
-      logger.error(e.getMessage(), e);
+      MappingIssues.report(e, logger);
       return withException(e, this.logger);
     }
   }
@@ -99,7 +99,7 @@ public class TryWithResult<O> extends AbstractLoggable implements Catchable {
       }
       return Try.clean(this.logger);
     } catch (IgnorableMappingException e) {
-      logger.error(e.getMessage(), e);
+      MappingIssues.report(e, logger);
       return Try.withException(e, this.logger);
     }
   }
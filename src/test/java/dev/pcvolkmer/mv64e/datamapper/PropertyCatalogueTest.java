@@ -0,0 +1,337 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+@ExtendWith(MockitoExtension.class)
+class PropertyCatalogueTest {
+
+  JdbcTemplate jdbcTemplate;
+  PropertyCatalogue propertyCatalogue;
+
+  @BeforeEach
+  void setUp(@Mock JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.propertyCatalogue = PropertyCatalogue.create(jdbcTemplate);
+  }
+
+  @Test
+  void shouldRequestEntryOnlyOnce() {
+    doAnswer(invocationOnMock -> new PropertyCatalogue.Entry("C34.0", "C34.0", "Hauptbronchus"))
+        .when(jdbcTemplate)
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+
+    var first = propertyCatalogue.getByCodeAndVersion("C34.0", 1);
+    var second = propertyCatalogue.getByCodeAndVersion("C34.0", 1);
+
+    assertThat(second).isSameAs(first);
+    assertThat(propertyCatalogue.getCacheHits()).isEqualTo(1);
+    assertThat(propertyCatalogue.getCacheMisses()).isEqualTo(1);
+    verify(jdbcTemplate, times(1))
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+  }
+
+  @Test
+  void shouldCacheMissingEntry() {
+    doThrow(new EmptyResultDataAccessException(1))
+        .when(jdbcTemplate)
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+
+    for (var i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> propertyCatalogue.getByCodeAndVersion("C34.0", 1))
+          .isInstanceOf(DataAccessException.class)
+          .hasMessage("Cannot request property catalogue entry for 'C34.0' version '1'");
+    }
+
+    verify(jdbcTemplate, times(1))
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+  }
+
+  @Test
+  void shouldNotCacheFailedRequest() {
+    doThrow(new QueryTimeoutException("timeout"))
+        .when(jdbcTemplate)
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+
+    for (var i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> propertyCatalogue.getByCodeAndVersion("C34.0", 1))
+          .isInstanceOf(DataAccessException.class);
+    }
+
+    verify(jdbcTemplate, times(2))
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+  }
+
+  @Test
+  void shouldEvictEntriesNotUsedSinceLastEviction() {
+    doAnswer(
+            invocationOnMock -> {
+              var code = invocationOnMock.getArgument(2, String.class);
+              return new PropertyCatalogue.Entry(code, code, code);
+            })
+        .when(jdbcTemplate)
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+
+    propertyCatalogue.getByCodeAndVersion("C34.0", 1);
+    for (var i = 0; i < 2 * PropertyCatalogue.MAX_CACHE_SIZE; i++) {
+      propertyCatalogue.getByCodeAndVersion(String.valueOf(i), 1);
+      propertyCatalogue.getByCodeAndVersion("C34.0", 1);
+    }
+
+    assertThat(propertyCatalogue.getCacheSize())
+        .isLessThanOrEqualTo(PropertyCatalogue.MAX_CACHE_SIZE);
+    verify(jdbcTemplate, times(1))
+        .queryForObject(anyString(), any(RowMapper.class), eq("C34.0"), eq(1));
+  }
+
+  @Test
+  void shouldResolveBatchUsingOneQuery(@Mock java.sql.ResultSet rs) throws Exception {
+    when(rs.getString(anyString()))
+        .thenAnswer(
+            invocationOnMock ->
+                Map.of(
+                        "code", "C34.0",
+                        "shortdesc", "C34.0",
+                        "description", "Hauptbronchus",
+                        "version_oid", "1.2.3",
+                        "version_description", "v1")
+                    .get(invocationOnMock.getArgument(0, String.class)));
+    when(rs.getInt("property_version_id")).thenReturn(1);
+
+    doAnswer(
+            invocationOnMock -> {
+              invocationOnMock.getArgument(1, RowCallbackHandler.class).processRow(rs);
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+    propertyCatalogue.resolve(
+        new PropertyCatalogue.Batch()
+            .registerAll(
+                List.of(
+                    ResultSet.from(Map.of("icd10", "C34.0", "icd10_propcat_version", 1)),
+                    ResultSet.from(Map.of("icd10", "C00.0", "icd10_propcat_version", 1)))));
+
+    assertThat(propertyCatalogue.getByCodeAndVersion("C34.0", 1).getDescription())
+        .isEqualTo("Hauptbronchus");
+    assertThatThrownBy(() -> propertyCatalogue.getByCodeAndVersion("C00.0", 1))
+        .isInstanceOf(DataAccessException.class);
+
+    var captor = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate, times(1))
+        .query(captor.capture(), any(RowCallbackHandler.class), any(Object[].class));
+    assertThat(captor.getValue())
+        .endsWith("WHERE (code, property_version_id) IN ((?, ?), (?, ?))");
+    verify(jdbcTemplate, never())
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+  }
+
+  @Test
+  void shouldRequestSingleEntryIfBatchReturnsCodeInDifferentCase(@Mock java.sql.ResultSet rs)
+      throws Exception {
+    // Database collation ignores case and trailing spaces
+    when(rs.getString(anyString()))
+        .thenAnswer(
+            invocationOnMock ->
+                Map.of(
+                        "code", "c34.0",
+                        "shortdesc", "C34.0",
+                        "description", "Hauptbronchus",
+                        "version_oid", "1.2.3",
+                        "version_description", "v1")
+                    .get(invocationOnMock.getArgument(0, String.class)));
+    when(rs.getInt("property_version_id")).thenReturn(1);
+
+    doAnswer(
+            invocationOnMock -> {
+              invocationOnMock.getArgument(1, RowCallbackHandler.class).processRow(rs);
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    doAnswer(invocationOnMock -> new PropertyCatalogue.Entry("c34.0", "C34.0", "Hauptbronchus"))
+        .when(jdbcTemplate)
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+
+    propertyCatalogue.resolve(new PropertyCatalogue.Batch().register("C34.0", 1));
+
+    assertThat(propertyCatalogue.getByCodeAndVersion("C34.0", 1).getDescription())
+        .isEqualTo("Hauptbronchus");
+    verify(jdbcTemplate, times(1))
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+  }
+
+  @Test
+  void shouldRequestSingleEntriesIfBatchFails() {
+    doThrow(new QueryTimeoutException("timeout"))
+        .when(jdbcTemplate)
+        .query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    doAnswer(invocationOnMock -> new PropertyCatalogue.Entry("C34.0", "C34.0", "Hauptbronchus"))
+        .when(jdbcTemplate)
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+
+    propertyCatalogue.resolve(new PropertyCatalogue.Batch().register("C34.0", 1));
+
+    assertThat(propertyCatalogue.getByCodeAndVersion("C34.0", 1).getDescription())
+        .isEqualTo("Hauptbronchus");
+  }
+
+  @Test
+  void shouldPreloadCompleteVersions(@Mock java.sql.ResultSet rs) throws Exception {
+    mockPreloadQuery(rs);
+
+    assertThat(propertyCatalogue.preload(List.of(1))).isEqualTo(1);
+
+    assertThat(propertyCatalogue.getByCodeAndVersion("C34.0", 1).getDescription())
+        .isEqualTo("Hauptbronchus");
+    verify(jdbcTemplate, never())
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+  }
+
+  @Test
+  void shouldRequestCodesNotFoundInPreloadedVersions(@Mock java.sql.ResultSet rs)
+      throws Exception {
+    mockPreloadQuery(rs);
+    doThrow(new EmptyResultDataAccessException(1))
+        .when(jdbcTemplate)
+        .queryForObject(anyString(), any(RowMapper.class), eq("C00.0"), eq(1));
+    // Database collation ignores case
+    doAnswer(invocationOnMock -> new PropertyCatalogue.Entry("C34.0", "C34.0", "Hauptbronchus"))
+        .when(jdbcTemplate)
+        .queryForObject(anyString(), any(RowMapper.class), eq("c34.0"), eq(1));
+
+    propertyCatalogue.preload(List.of(1));
+
+    assertThat(propertyCatalogue.getByCodeAndVersion("c34.0", 1).getDescription())
+        .isEqualTo("Hauptbronchus");
+    assertThatThrownBy(() -> propertyCatalogue.getByCodeAndVersion("C00.0", 1))
+        .isInstanceOf(DataAccessException.class);
+    assertThatThrownBy(() -> propertyCatalogue.getByCodeAndVersion("C00.0", 1))
+        .isInstanceOf(DataAccessException.class);
+    verify(jdbcTemplate, times(1))
+        .queryForObject(anyString(), any(RowMapper.class), eq("C00.0"), eq(1));
+  }
+
+  @Test
+  void shouldLoadWrittenSnapshot(@Mock java.sql.ResultSet rs, @TempDir Path tempDir)
+      throws Exception {
+    mockPreloadQuery(rs);
+    propertyCatalogue.preload(List.of(1));
+
+    var snapshot = tempDir.resolve("propcat.snapshot");
+    propertyCatalogue.writeSnapshot(snapshot);
+
+    var otherJdbcTemplate = mock(JdbcTemplate.class);
+    var otherPropertyCatalogue = PropertyCatalogue.create(otherJdbcTemplate);
+
+    assertThat(otherPropertyCatalogue.loadSnapshot(snapshot)).isEqualTo(1);
+    assertThat(otherPropertyCatalogue.getByCodeAndVersion("C34.0", 1))
+        .satisfies(
+            entry -> {
+              assertThat(entry.getShortdesc()).isEqualTo("C34.0");
+              assertThat(entry.getDescription()).isEqualTo("Hauptbronchus");
+              assertThat(entry.getVersionOid()).isEqualTo("1.2.3");
+              assertThat(entry.getVersionDescription()).isEqualTo("v1");
+            });
+    verifyNoInteractions(otherJdbcTemplate);
+  }
+
+  @Test
+  void shouldPreloadVersionsUsingSnapshot(@Mock java.sql.ResultSet rs, @TempDir Path tempDir)
+      throws Exception {
+    mockPreloadQuery(rs);
+    var snapshot = tempDir.resolve("propcat.snapshot");
+
+    assertThat(propertyCatalogue.preload(List.of(1), snapshot)).isEqualTo(1);
+    assertThat(snapshot).exists();
+
+    var otherJdbcTemplate = mock(JdbcTemplate.class);
+    var otherPropertyCatalogue = PropertyCatalogue.create(otherJdbcTemplate);
+
+    assertThat(otherPropertyCatalogue.preload(List.of(1), snapshot)).isEqualTo(1);
+    assertThat(otherPropertyCatalogue.getByCodeAndVersion("C34.0", 1).getDescription())
+        .isEqualTo("Hauptbronchus");
+    verifyNoInteractions(otherJdbcTemplate);
+  }
+
+  @Test
+  void shouldWriteSnapshotContainingLongDescription(@TempDir Path tempDir) throws Exception {
+    var description = "A".repeat(70000);
+    var table =
+        new PropertyVersionTable.Builder()
+            .add(1, new PropertyCatalogue.Entry("C34.0", "C34.0", description, "1.2.3", "v1"))
+            .build();
+
+    var outputStream = new java.io.ByteArrayOutputStream();
+    table.write(outputStream);
+    var actual =
+        PropertyVersionTable.read(new java.io.ByteArrayInputStream(outputStream.toByteArray()));
+
+    assertThat(actual.get("C34.0", 1))
+        .satisfies(entry -> assertThat(entry.getDescription()).isEqualTo(description));
+  }
+
+  private void mockPreloadQuery(java.sql.ResultSet rs) throws Exception {
+    when(rs.getString(anyString()))
+        .thenAnswer(
+            invocationOnMock ->
+                Map.of(
+                        "code", "C34.0",
+                        "shortdesc", "C34.0",
+                        "description", "Hauptbronchus",
+                        "version_oid", "1.2.3",
+                        "version_description", "v1")
+                    .get(invocationOnMock.getArgument(0, String.class)));
+    when(rs.getInt("property_version_id")).thenReturn(1);
+
+    doAnswer(
+            invocationOnMock -> {
+              invocationOnMock.getArgument(1, RowCallbackHandler.class).processRow(rs);
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+  }
+}
@@ -27,6 +27,7 @@ import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
 import java.sql.Date;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
@@ -208,6 +209,68 @@ class ResultSetTest {
     assertThat(data.getParentId()).isEqualTo(11);
   }
 
+  @Test
+  void shouldShareColumnDictionaryForAllRows() {
+    var columns = ColumnDictionary.of("id", "name");
+
+    var first = ResultSet.from(columns, new Object[] {1, "Test 1"});
+    var second = ResultSet.from(columns, new Object[] {2, "Test 2"});
+
+    assertThat(first.getId()).isEqualTo(1);
+    assertThat(second.getString("NAME")).isEqualTo("Test 2");
+    assertThat(second.getRawData()).isEqualTo(Map.of("id", 2, "name", "Test 2"));
+  }
+
+  @Test
+  void shouldUseLastColumnOfColumnsDifferingInCaseOnly() {
+    var columns = ColumnDictionary.of("ID", "id");
+
+    assertThat(columns.indexOf("ID")).isEqualTo(1);
+    assertThat(columns.indexOf("id")).isEqualTo(1);
+    assertThat(columns.indexOf("Id")).isEqualTo(1);
+    assertThat(ResultSet.from(columns, new Object[] {1, 2}).getId()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldAddValuesToArrayBackedResultSet() {
+    var data = ResultSet.from(ColumnDictionary.of("id", "name"), new Object[] {22, "Test"});
+
+    data.getRawData().put("name", "Changed");
+    data.getRawData().put("merkmal", List.of("A", "B"));
+
+    assertThat(data.getString("name")).isEqualTo("Changed");
+    assertThat(data.getMerkmalList("merkmal")).containsExactly("A", "B");
+    assertThat(data.getRawData())
+        .containsOnlyKeys("id", "name", "merkmal")
+        .isEqualTo(Map.of("id", 22, "name", "Changed", "merkmal", List.of("A", "B")));
+  }
+
+  @Test
+  void shouldReturnSameStringInstanceIfNothingToRemove() {
+    var value = "TestString";
+    var data = ResultSet.from(Map.of("string", value));
+
+    assertThat(data.getString("string")).isSameAs(value);
+  }
+
+  @Test
+  void shouldRemoveInvalidCodePoints() {
+    var data = ResultSet.from(Map.of("string", " Test\uD800String "));
+
+    assertThat(data.getString("string")).isEqualTo("TestString");
+  }
+
+  @Test
+  void shouldReuseConvertedStringValues() {
+    var data = ResultSet.from(new HashMap<>(Map.of("int", 42)));
+
+    assertThat(data.getString("int")).isSameAs(data.getString("int"));
+
+    data.getRawData().put("int", 43);
+
+    assertThat(data.getString("int")).isEqualTo("43");
+  }
+
   static ResultSet getTestData() {
     return ResultSet.from(
         Map.of(
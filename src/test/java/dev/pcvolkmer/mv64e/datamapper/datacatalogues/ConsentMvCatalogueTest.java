@@ -20,8 +20,9 @@
 
 package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
 
+import static dev.pcvolkmer.mv64e.datamapper.datacatalogues.JdbcRows.rows;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
@@ -35,6 +36,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
 @ExtendWith(MockitoExtension.class)
 class ConsentMvCatalogueTest {
@@ -50,14 +53,15 @@ class ConsentMvCatalogueTest {
 
   @Test
   void shouldUseCorrectQuery(@Mock Map<String, Object> resultSet) {
-    doAnswer(invocationOnMock -> List.of(resultSet))
+    doAnswer(rows(invocationOnMock -> List.of(resultSet)))
         .when(jdbcTemplate)
-        .queryForList(anyString(), anyInt());
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     this.catalogue.getById(1);
 
     var captor = ArgumentCaptor.forClass(String.class);
-    verify(this.jdbcTemplate).queryForList(captor.capture(), anyInt());
+    verify(this.jdbcTemplate)
+        .query(captor.capture(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     assertThat(captor.getValue())
         .isEqualTo(
@@ -0,0 +1,83 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import dev.pcvolkmer.mv64e.datamapper.exceptions.DataCatalogueCreationException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class DataCatalogueFactoryTest {
+
+  @Test
+  void shouldCreateCatalogueOnce(@Mock JdbcTemplate jdbcTemplate) {
+    var factory = DataCatalogueFactory.of(jdbcTemplate);
+
+    assertThat(factory.hasCatalogue(KpaCatalogue.class)).isFalse();
+    assertThat(factory.catalogue(KpaCatalogue.class))
+        .isInstanceOf(KpaCatalogue.class)
+        .isSameAs(factory.catalogue(KpaCatalogue.class));
+    assertThat(factory.hasCatalogue(KpaCatalogue.class)).isTrue();
+  }
+
+  @Test
+  void shouldThrowExceptionForUnknownCatalogue(@Mock JdbcTemplate jdbcTemplate) {
+    var factory = DataCatalogueFactory.of(jdbcTemplate);
+
+    assertThrows(
+        DataCatalogueCreationException.class, () -> factory.catalogue(DataCatalogue.class));
+  }
+
+  @Test
+  void shouldUseFactoryPerDataSource(
+      @Mock JdbcTemplate jdbcTemplate1,
+      @Mock JdbcTemplate jdbcTemplate2,
+      @Mock JdbcTemplate jdbcTemplate3,
+      @Mock DataSource dataSource1,
+      @Mock DataSource dataSource2) {
+    when(jdbcTemplate1.getDataSource()).thenReturn(dataSource1);
+    when(jdbcTemplate2.getDataSource()).thenReturn(dataSource1);
+    when(jdbcTemplate3.getDataSource()).thenReturn(dataSource2);
+
+    assertThat(DataCatalogueFactory.of(jdbcTemplate1))
+        .isSameAs(DataCatalogueFactory.of(jdbcTemplate2))
+        .isNotSameAs(DataCatalogueFactory.of(jdbcTemplate3));
+  }
+
+  @Test
+  void shouldApplyFetchSizeToExistingAndLaterCreatedCatalogues(@Mock JdbcTemplate jdbcTemplate) {
+    var factory = DataCatalogueFactory.of(jdbcTemplate);
+    var kpaCatalogue = factory.catalogue(KpaCatalogue.class);
+
+    factory.fetchSize(100);
+
+    assertThat(kpaCatalogue.getFetchSize()).isEqualTo(100);
+    assertThat(factory.catalogue(EcogCatalogue.class).getFetchSize()).isEqualTo(100);
+  }
+}
@@ -20,8 +20,8 @@
 
 package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
 
+import static dev.pcvolkmer.mv64e.datamapper.datacatalogues.JdbcRows.rows;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -36,6 +36,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
 @ExtendWith(MockitoExtension.class)
 class HistologieCatalogueTest {
@@ -51,14 +53,15 @@ class HistologieCatalogueTest {
 
   @Test
   void shouldUseCorrectQuery(@Mock Map<String, Object> resultSet) {
-    doAnswer(invocationOnMock -> List.of(resultSet))
+    doAnswer(rows(invocationOnMock -> List.of(resultSet)))
         .when(jdbcTemplate)
-        .queryForList(anyString(), anyInt());
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     this.catalogue.getById(1);
 
     var captor = ArgumentCaptor.forClass(String.class);
-    verify(this.jdbcTemplate).queryForList(captor.capture(), anyInt());
+    verify(this.jdbcTemplate)
+        .query(captor.capture(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     assertThat(captor.getValue())
         .isEqualTo(
@@ -67,14 +70,15 @@ class HistologieCatalogueTest {
 
   @Test
   void shouldUseCorrectSubformQuery(@Mock Map<String, Object> resultSet) {
-    doAnswer(invocationOnMock -> List.of(resultSet))
+    doAnswer(rows(invocationOnMock -> List.of(resultSet)))
         .when(jdbcTemplate)
-        .queryForList(anyString(), anyInt());
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     this.catalogue.getAllByParentId(1);
 
     var captor = ArgumentCaptor.forClass(String.class);
-    verify(this.jdbcTemplate).queryForList(captor.capture(), anyInt());
+    verify(this.jdbcTemplate)
+        .query(captor.capture(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     assertThat(captor.getValue())
         .isEqualTo(
@@ -83,16 +87,15 @@ class HistologieCatalogueTest {
 
   @Test
   void shouldUseCorrectMerkmalQuery(@Mock Map<String, Object> resultSet) {
-    when(resultSet.get(anyString())).thenReturn(Map.of("feldname", "name", "feldwert", "wert"));
-
-    doAnswer(invocationOnMock -> List.of(resultSet))
+    doAnswer(rows(invocationOnMock -> List.of(resultSet)))
         .when(jdbcTemplate)
-        .queryForList(anyString(), anyInt());
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     this.catalogue.getMerkmaleById(1);
 
     var captor = ArgumentCaptor.forClass(String.class);
-    verify(this.jdbcTemplate).queryForList(captor.capture(), anyInt());
+    verify(this.jdbcTemplate)
+        .query(captor.capture(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     assertThat(captor.getValue())
         .isEqualTo(
@@ -102,22 +105,23 @@ class HistologieCatalogueTest {
   @Test
   void shouldUseMerkmalList() {
     doAnswer(
-            invocationOnMock -> {
-              var sql = invocationOnMock.getArgument(0, String.class);
-              ArrayList<Map<String, Object>> result = new ArrayList<>();
-              if (sql.startsWith("SELECT feldname")) {
-                result.add(Map.of("feldname", "name", "feldwert", "wert1"));
-                result.add(Map.of("feldname", "name", "feldwert", "wert2"));
-              } else {
-                var map = new HashMap<String, Object>();
-                map.put("id", 1);
-                map.put("name", "x");
-                result.add(map);
-              }
-              return result;
-            })
+            rows(
+                invocationOnMock -> {
+                  var sql = invocationOnMock.getArgument(0, String.class);
+                  ArrayList<Map<String, Object>> result = new ArrayList<>();
+                  if (sql.startsWith("SELECT feldname")) {
+                    result.add(Map.of("feldname", "name", "feldwert", "wert1"));
+                    result.add(Map.of("feldname", "name", "feldwert", "wert2"));
+                  } else {
+                    var map = new HashMap<String, Object>();
+                    map.put("id", 1);
+                    map.put("name", "x");
+                    result.add(map);
+                  }
+                  return result;
+                }))
         .when(jdbcTemplate)
-        .queryForList(anyString(), anyInt());
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     var result = this.catalogue.getById(1);
 
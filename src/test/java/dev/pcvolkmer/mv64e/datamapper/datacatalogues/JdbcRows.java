@@ -0,0 +1,127 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.mockito.stubbing.Answer;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+/**
+ * Test helper to answer {@code JdbcTemplate.query()} using a RowCallbackHandler with rows given as
+ * maps.
+ */
+final class JdbcRows {
+
+  private JdbcRows() {}
+
+  /**
+   * Passes rows to the RowCallbackHandler of the invocation. All rows use the columns of the first
+   * row, same as rows of a single JDBC result set.
+   *
+   * @param rows Answer providing the rows for the invocation
+   * @return The answer to be used with {@code doAnswer()}
+   */
+  static Answer<Void> rows(Answer<? extends List<? extends Map<String, ?>>> rows) {
+    return invocationOnMock -> {
+      var result = rows.answer(invocationOnMock);
+      var handler =
+          Arrays.stream(invocationOnMock.getArguments())
+              .filter(RowCallbackHandler.class::isInstance)
+              .map(RowCallbackHandler.class::cast)
+              .findFirst()
+              .orElseThrow();
+      if (result.isEmpty()) {
+        return null;
+      }
+      var columns = new ArrayList<String>(result.get(0).keySet());
+      for (var row : result) {
+        handler.processRow(resultSet(columns, row));
+      }
+      return null;
+    };
+  }
+
+  /**
+   * Creates a JDBC result set positioned on the given row
+   *
+   * @param columns The column names
+   * @param row The row
+   * @return The result set
+   */
+  static ResultSet resultSet(List<String> columns, Map<String, ?> row) {
+    var metaData =
+        (ResultSetMetaData)
+            Proxy.newProxyInstance(
+                JdbcRows.class.getClassLoader(),
+                new Class<?>[] {ResultSetMetaData.class},
+                (proxy, method, args) -> {
+                  switch (method.getName()) {
+                    case "getColumnCount":
+                      return columns.size();
+                    case "getColumnLabel":
+                    case "getColumnName":
+                      return columns.get((int) args[0] - 1);
+                    case "getColumnClassName":
+                      var value = row.get(columns.get((int) args[0] - 1));
+                      return null == value ? Object.class.getName() : value.getClass().getName();
+                    default:
+                      throw new UnsupportedOperationException(method.getName());
+                  }
+                });
+    var lastValue = new Object[1];
+    return (ResultSet)
+        Proxy.newProxyInstance(
+            JdbcRows.class.getClassLoader(),
+            new Class<?>[] {ResultSet.class},
+            (proxy, method, args) -> {
+              if ("getMetaData".equals(method.getName())) {
+                return metaData;
+              } else if ("wasNull".equals(method.getName())) {
+                return null == lastValue[0];
+              }
+              var column =
+                  args[0] instanceof Integer ? columns.get((int) args[0] - 1) : (String) args[0];
+              var value = row.get(column);
+              lastValue[0] = value;
+              switch (method.getName()) {
+                case "getObject":
+                case "getDate":
+                  return value;
+                case "getString":
+                  return null == value ? null : value.toString();
+                case "getInt":
+                  return null == value ? 0 : ((Number) value).intValue();
+                case "getLong":
+                  return null == value ? 0L : ((Number) value).longValue();
+                case "getDouble":
+                  return null == value ? 0.0 : ((Number) value).doubleValue();
+                default:
+                  throw new UnsupportedOperationException(method.getName());
+              }
+            });
+  }
+}
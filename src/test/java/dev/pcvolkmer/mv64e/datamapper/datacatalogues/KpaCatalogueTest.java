@@ -20,6 +20,7 @@
 
 package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
 
+import static dev.pcvolkmer.mv64e.datamapper.datacatalogues.JdbcRows.rows;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
@@ -37,6 +38,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,14 +56,15 @@ class KpaCatalogueTest {
 
   @Test
   void shouldUseCorrectQuery(@Mock Map<String, Object> resultSet) {
-    doAnswer(invocationOnMock -> List.of(resultSet))
+    doAnswer(rows(invocationOnMock -> List.of(resultSet)))
         .when(jdbcTemplate)
-        .queryForList(anyString(), anyInt());
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     this.catalogue.getById(1);
 
     var captor = ArgumentCaptor.forClass(String.class);
-    verify(this.jdbcTemplate).queryForList(captor.capture(), anyInt());
+    verify(this.jdbcTemplate)
+        .query(captor.capture(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     assertThat(captor.getValue())
         .isEqualTo(
@@ -79,41 +83,86 @@ class KpaCatalogueTest {
   }
 
   @Test
-  void shouldUseCorrectMerkmalQuery(@Mock Map<String, Object> resultSet) {
-    when(resultSet.get(anyString())).thenReturn(Map.of("feldname", "name", "feldwert", "wert"));
+  void shouldGroupProcedureIdsByCaseIds() {
+    doAnswer(
+            rows(
+                invocationOnMock ->
+                    List.of(
+                        Map.of("id", 1, "fallnummermv", "16000123"),
+                        Map.of("id", 2, "fallnummermv", "16000456"),
+                        Map.of("id", 3, "fallnummermv", "16000456"))))
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    var result =
+        this.catalogue.getProcedureIdsByCaseIds(List.of("16000123", "16000456", "16000789"));
+
+    var captor = ArgumentCaptor.forClass(String.class);
+    verify(this.jdbcTemplate)
+        .query(captor.capture(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    assertThat(captor.getValue())
+        .isEqualTo(
+            "SELECT dk_dnpm_kpa.id, dk_dnpm_kpa.fallnummermv FROM dk_dnpm_kpa JOIN prozedur ON (prozedur.id = dk_dnpm_kpa.id) WHERE prozedur.geloescht = 0 AND dk_dnpm_kpa.fallnummermv IN (?, ?, ?)");
+    assertThat(result).isEqualTo(Map.of("16000123", List.of(1), "16000456", List.of(2, 3)));
+  }
 
-    doAnswer(invocationOnMock -> List.of(resultSet))
+  @Test
+  void shouldUseCorrectMerkmalQuery(@Mock Map<String, Object> resultSet) {
+    doAnswer(rows(invocationOnMock -> List.of(resultSet)))
         .when(jdbcTemplate)
-        .queryForList(anyString(), anyInt());
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     this.catalogue.getMerkmaleById(1);
 
     var captor = ArgumentCaptor.forClass(String.class);
-    verify(this.jdbcTemplate).queryForList(captor.capture(), anyInt());
+    verify(this.jdbcTemplate)
+        .query(captor.capture(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     assertThat(captor.getValue())
         .isEqualTo("SELECT feldname, feldwert FROM dk_dnpm_kpa_merkmale WHERE eintrag_id = ?");
   }
 
+  @Test
+  void shouldKeepMerkmaleOfLoadedChunksIfChunkFails() {
+    doAnswer(
+            rows(
+                invocationOnMock ->
+                    List.of(Map.of("eintrag_id", 1, "feldname", "name", "feldwert", "value"))))
+        .doThrow(new org.springframework.dao.DataRetrievalFailureException("Test"))
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    var ids = new ArrayList<Integer>();
+    for (var i = 1; i <= AbstractDataCatalogue.MAX_IN_LIST_SIZE + 1; i++) {
+      ids.add(i);
+    }
+
+    var result = this.catalogue.getMerkmaleByIds(ids);
+
+    assertThat(result).isEqualTo(Map.of(1, Map.of("name", List.of("value"))));
+  }
+
   @Test
   void shouldUseMerkmalList() {
     doAnswer(
-            invocationOnMock -> {
-              var sql = invocationOnMock.getArgument(0, String.class);
-              ArrayList<Map<String, Object>> result = new ArrayList<>();
-              if (sql.startsWith("SELECT feldname")) {
-                result.add(Map.of("feldname", "name", "feldwert", "wert1"));
-                result.add(Map.of("feldname", "name", "feldwert", "wert2"));
-              } else {
-                var map = new HashMap<String, Object>();
-                map.put("id", 1);
-                map.put("name", "x");
-                result.add(map);
-              }
-              return result;
-            })
+            rows(
+                invocationOnMock -> {
+                  var sql = invocationOnMock.getArgument(0, String.class);
+                  ArrayList<Map<String, Object>> result = new ArrayList<>();
+                  if (sql.startsWith("SELECT feldname")) {
+                    result.add(Map.of("feldname", "name", "feldwert", "wert1"));
+                    result.add(Map.of("feldname", "name", "feldwert", "wert2"));
+                  } else {
+                    var map = new HashMap<String, Object>();
+                    map.put("id", 1);
+                    map.put("name", "x");
+                    result.add(map);
+                  }
+                  return result;
+                }))
         .when(jdbcTemplate)
-        .queryForList(anyString(), anyInt());
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     var result = this.catalogue.getById(1);
 
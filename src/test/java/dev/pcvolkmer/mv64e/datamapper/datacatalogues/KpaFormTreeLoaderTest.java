@@ -0,0 +1,229 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
+
+import static dev.pcvolkmer.mv64e.datamapper.datacatalogues.JdbcRows.rows;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+class KpaFormTreeLoaderTest {
+
+  JdbcTemplate jdbcTemplate;
+  DataCatalogueFactory catalogueFactory;
+  KpaFormTreeLoader loader;
+
+  @BeforeEach
+  void setUp(@Mock JdbcTemplate jdbcTemplate, @Mock DataCatalogueFactory catalogueFactory) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.catalogueFactory = catalogueFactory;
+    this.loader = new KpaFormTreeLoader(jdbcTemplate, catalogueFactory);
+  }
+
+  @Test
+  void shouldNotLoadFormTreeWithoutRowCache() {
+    this.loader.load(1);
+
+    verifyNoInteractions(jdbcTemplate, catalogueFactory);
+  }
+
+  @Test
+  void shouldLoadFormTreeIntoRowCache() {
+    when(catalogueFactory.catalogue(any()))
+        .thenAnswer(
+            invocationOnMock ->
+                invocationOnMock
+                    .getArgument(0, Class.class)
+                    .getMethod("create", JdbcTemplate.class)
+                    .invoke(null, jdbcTemplate));
+
+    doAnswer(
+            rows(
+                invocationOnMock -> {
+                  var kpaSubform = new HashMap<String, Object>();
+                  kpaSubform.put("id", 10);
+                  kpaSubform.put("hauptprozedur_id", 1);
+                  var therapieplan = new HashMap<String, Object>();
+                  therapieplan.put("id", 20);
+                  therapieplan.put("hauptprozedur_id", null);
+                  return List.of(kpaSubform, therapieplan);
+                }))
+        .when(jdbcTemplate)
+        .query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+    doAnswer(
+            rows(
+                invocationOnMock -> {
+                  var sql = invocationOnMock.getArgument(0, String.class);
+                  ArrayList<Map<String, Object>> result = new ArrayList<>();
+                  if (sql.contains("dk_dnpm_kpa.*")) {
+                    result.add(Map.of("id", 1));
+                  } else if (sql.contains("dk_dnpm_therapieplan.*")) {
+                    result.add(Map.of("id", 20));
+                  } else if (sql.contains("dk_dnpm_uf_ecog.*")) {
+                    result.add(Map.of("id", 10, "hauptprozedur_id", 1));
+                  }
+                  return result;
+                }))
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    try (var rowCache = RowCache.open()) {
+      this.loader.load(1);
+      clearInvocations(jdbcTemplate);
+
+      assertThat(KpaCatalogue.create(jdbcTemplate).getById(1).getId()).isEqualTo(1);
+      assertThat(TherapieplanCatalogue.create(jdbcTemplate).getById(20).getId()).isEqualTo(20);
+      assertThat(EcogCatalogue.create(jdbcTemplate).getAllByParentId(1)).hasSize(1);
+      assertThat(VerwandteCatalogue.create(jdbcTemplate).getAllByParentId(1)).isEmpty();
+      assertThat(RebiopsieCatalogue.create(jdbcTemplate).getAllByParentId(20)).isEmpty();
+    }
+
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void shouldNotQuerySubformTablesForProceduresWithoutSubforms() {
+    when(catalogueFactory.catalogue(any()))
+        .thenAnswer(
+            invocationOnMock ->
+                invocationOnMock
+                    .getArgument(0, Class.class)
+                    .getMethod("create", JdbcTemplate.class)
+                    .invoke(null, jdbcTemplate));
+
+    doAnswer(
+            rows(
+                invocationOnMock -> {
+                  var sql = invocationOnMock.getArgument(0, String.class);
+                  if (sql.contains("dk_dnpm_kpa.*")) {
+                    return List.of(Map.of("id", 1));
+                  }
+                  return List.of();
+                }))
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    try (var rowCache = RowCache.open()) {
+      this.loader.load(1);
+    }
+
+    // Form tree query, KPA procedure and its "Merkmale" only
+    verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    verify(jdbcTemplate, times(2))
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+  }
+
+  @Test
+  void shouldLoadFormTreesOfMultipleKpaProceduresAtOnce() {
+    when(catalogueFactory.catalogue(any()))
+        .thenAnswer(
+            invocationOnMock ->
+                invocationOnMock
+                    .getArgument(0, Class.class)
+                    .getMethod("create", JdbcTemplate.class)
+                    .invoke(null, jdbcTemplate));
+
+    doAnswer(rows(invocationOnMock -> List.of(Map.of("id", 10, "hauptprozedur_id", 2))))
+        .when(jdbcTemplate)
+        .query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+    doAnswer(
+            rows(
+                invocationOnMock -> {
+                  var sql = invocationOnMock.getArgument(0, String.class);
+                  if (sql.contains("dk_dnpm_kpa.*")) {
+                    return List.of(Map.of("id", 1), Map.of("id", 2));
+                  } else if (sql.contains("dk_dnpm_uf_ecog.*")) {
+                    return List.of(Map.of("id", 10, "hauptprozedur_id", 2));
+                  }
+                  return List.of();
+                }))
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    try (var rowCache = RowCache.open()) {
+      this.loader.load(List.of(1, 2));
+
+      var argsCaptor = ArgumentCaptor.forClass(Object[].class);
+      verify(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), argsCaptor.capture());
+      assertThat(argsCaptor.getValue()).containsExactly(1, 2, 1, 2, 1, 2);
+      clearInvocations(jdbcTemplate);
+
+      assertThat(KpaCatalogue.create(jdbcTemplate).getById(1).getId()).isEqualTo(1);
+      assertThat(KpaCatalogue.create(jdbcTemplate).getById(2).getId()).isEqualTo(2);
+      assertThat(EcogCatalogue.create(jdbcTemplate).getAllByParentId(1)).isEmpty();
+      assertThat(EcogCatalogue.create(jdbcTemplate).getAllByParentId(2)).hasSize(1);
+    }
+
+    verifyNoInteractions(jdbcTemplate);
+  }
+
+  @Test
+  void shouldSkipMissingKpaProcedures() {
+    when(catalogueFactory.catalogue(any()))
+        .thenAnswer(
+            invocationOnMock ->
+                invocationOnMock
+                    .getArgument(0, Class.class)
+                    .getMethod("create", JdbcTemplate.class)
+                    .invoke(null, jdbcTemplate));
+
+    doAnswer(
+            rows(
+                invocationOnMock -> {
+                  var sql = invocationOnMock.getArgument(0, String.class);
+                  if (sql.contains("dk_dnpm_kpa.*")) {
+                    return List.of(Map.of("id", 1), Map.of("id", 3));
+                  }
+                  return List.of();
+                }))
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    try (var rowCache = RowCache.open()) {
+      this.loader.load(List.of(1, 2, 3));
+      clearInvocations(jdbcTemplate);
+
+      assertThat(KpaCatalogue.create(jdbcTemplate).getById(1).getId()).isEqualTo(1);
+      assertThat(KpaCatalogue.create(jdbcTemplate).getById(3).getId()).isEqualTo(3);
+      verifyNoInteractions(jdbcTemplate);
+
+      assertThat(rowCache.getRow(KpaCatalogue.create(jdbcTemplate), 2)).isNull();
+    }
+  }
+}
@@ -20,11 +20,16 @@
 
 package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
 
+import static dev.pcvolkmer.mv64e.datamapper.datacatalogues.JdbcRows.rows;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyInt;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
+import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -36,6 +41,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
 
 @ExtendWith(MockitoExtension.class)
 class ProzedurCatalogueTest {
@@ -51,14 +58,15 @@ class ProzedurCatalogueTest {
 
   @Test
   void shouldUseCorrectQuery(@Mock Map<String, Object> resultSet) {
-    doAnswer(invocationOnMock -> List.of(resultSet))
+    doAnswer(rows(invocationOnMock -> List.of(resultSet)))
         .when(jdbcTemplate)
-        .queryForList(anyString(), anyInt());
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     this.catalogue.getById(1);
 
     var captor = ArgumentCaptor.forClass(String.class);
-    verify(this.jdbcTemplate).queryForList(captor.capture(), anyInt());
+    verify(this.jdbcTemplate)
+        .query(captor.capture(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     assertThat(captor.getValue())
         .isEqualTo(
@@ -67,14 +75,15 @@ class ProzedurCatalogueTest {
 
   @Test
   void shouldUseCorrectSubformQuery(@Mock Map<String, Object> resultSet) {
-    doAnswer(invocationOnMock -> List.of(resultSet))
+    doAnswer(rows(invocationOnMock -> List.of(resultSet)))
         .when(jdbcTemplate)
-        .queryForList(anyString(), anyInt());
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     this.catalogue.getAllByParentId(1);
 
     var captor = ArgumentCaptor.forClass(String.class);
-    verify(this.jdbcTemplate).queryForList(captor.capture(), anyInt());
+    verify(this.jdbcTemplate)
+        .query(captor.capture(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     assertThat(captor.getValue())
         .isEqualTo(
@@ -83,16 +92,15 @@ class ProzedurCatalogueTest {
 
   @Test
   void shouldUseCorrectMerkmalQuery(@Mock Map<String, Object> resultSet) {
-    when(resultSet.get(anyString())).thenReturn(Map.of("feldname", "name", "feldwert", "wert"));
-
-    doAnswer(invocationOnMock -> List.of(resultSet))
+    doAnswer(rows(invocationOnMock -> List.of(resultSet)))
         .when(jdbcTemplate)
-        .queryForList(anyString(), anyInt());
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     this.catalogue.getMerkmaleById(1);
 
     var captor = ArgumentCaptor.forClass(String.class);
-    verify(this.jdbcTemplate).queryForList(captor.capture(), anyInt());
+    verify(this.jdbcTemplate)
+        .query(captor.capture(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     assertThat(captor.getValue())
         .isEqualTo(
@@ -102,26 +110,91 @@ class ProzedurCatalogueTest {
   @Test
   void shouldUseMerkmalList() {
     doAnswer(
-            invocationOnMock -> {
-              var sql = invocationOnMock.getArgument(0, String.class);
-              ArrayList<Map<String, Object>> result = new ArrayList<>();
-              if (sql.startsWith("SELECT feldname")) {
-                result.add(Map.of("feldname", "name", "feldwert", "wert1"));
-                result.add(Map.of("feldname", "name", "feldwert", "wert2"));
-              } else {
-                var map = new HashMap<String, Object>();
-                map.put("id", 1);
-                map.put("name", "x");
-                result.add(map);
-              }
-              return result;
-            })
+            rows(
+                invocationOnMock -> {
+                  var sql = invocationOnMock.getArgument(0, String.class);
+                  ArrayList<Map<String, Object>> result = new ArrayList<>();
+                  if (sql.startsWith("SELECT feldname")) {
+                    result.add(Map.of("feldname", "name", "feldwert", "wert1"));
+                    result.add(Map.of("feldname", "name", "feldwert", "wert2"));
+                  } else {
+                    var map = new HashMap<String, Object>();
+                    map.put("id", 1);
+                    map.put("name", "x");
+                    result.add(map);
+                  }
+                  return result;
+                }))
         .when(jdbcTemplate)
-        .queryForList(anyString(), anyInt());
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
 
     var result = this.catalogue.getById(1);
 
     assertThat(result.getInteger("id")).isEqualTo(1);
     assertThat(result.getMerkmalList("name")).isEqualTo(List.of("wert1", "wert2"));
   }
+
+  @Test
+  void shouldLoadAllByIdListAtOnce() {
+    doAnswer(
+            rows(
+                invocationOnMock -> {
+                  var sql = invocationOnMock.getArgument(0, String.class);
+                  ArrayList<Map<String, Object>> result = new ArrayList<>();
+                  if (sql.startsWith("SELECT eintrag_id")) {
+                    result.add(Map.of("eintrag_id", 2, "feldname", "name", "feldwert", "wert"));
+                  } else {
+                    result.add(new HashMap<>(Map.of("id", 1)));
+                    result.add(new HashMap<>(Map.of("id", 2)));
+                  }
+                  return result;
+                }))
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    var result = this.catalogue.getByIdList(List.of(2, 1));
+
+    assertThat(result).hasSize(2);
+    assertThat(result.get(0).getId()).isEqualTo(2);
+    assertThat(result.get(0).getMerkmalList("name")).isEqualTo(List.of("wert"));
+    assertThat(result.get(1).getId()).isEqualTo(1);
+    assertThat(result.get(1).getMerkmalList("name")).isEmpty();
+
+    var captor = ArgumentCaptor.forClass(String.class);
+    verify(this.jdbcTemplate, times(2))
+        .query(captor.capture(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    assertThat(captor.getAllValues())
+        .first()
+        .isEqualTo(
+            "SELECT patient.patienten_id, dk_dnpm_uf_prozedur.*, prozedur.patient_id, prozedur.hauptprozedur_id FROM dk_dnpm_uf_prozedur JOIN prozedur ON (prozedur.id = dk_dnpm_uf_prozedur.id) JOIN patient ON (patient.id = prozedur.patient_id) WHERE geloescht = 0 AND prozedur.id IN (?, ?)");
+  }
+
+  @Test
+  void shouldThrowExceptionIfIdInIdListNotFound() {
+    doAnswer(rows(invocationOnMock -> List.of(new HashMap<>(Map.of("id", 1)))))
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    assertThatThrownBy(() -> this.catalogue.getByIdList(List.of(1, 2)))
+        .isInstanceOf(DataAccessException.class)
+        .hasMessage("No record found for id: 2");
+  }
+
+  @Test
+  void shouldUseConfiguredFetchSize(@Mock PreparedStatement preparedStatement) throws SQLException {
+    doAnswer(rows(invocationOnMock -> List.of(new HashMap<>(Map.of("id", 1)))))
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    this.catalogue.setFetchSize(100);
+    this.catalogue.getAllByParentId(1);
+
+    var captor = ArgumentCaptor.forClass(PreparedStatementSetter.class);
+    verify(this.jdbcTemplate, times(2))
+        .query(anyString(), captor.capture(), any(RowCallbackHandler.class));
+    captor.getValue().setValues(preparedStatement);
+
+    verify(preparedStatement).setFetchSize(100);
+  }
 }
@@ -0,0 +1,69 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
+
+import static dev.pcvolkmer.mv64e.datamapper.datacatalogues.JdbcRows.resultSet;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ResultSetCollectorTest {
+
+  @Test
+  void shouldKeepValueTypesReturnedByJdbcDriver() throws Exception {
+    var row = new HashMap<String, Object>();
+    // e.g. unsigned INT
+    row.put("id", 4294967295L);
+    row.put("tinyint", (byte) 1);
+    row.put("smallint", (short) 2);
+    row.put("float", 1.5f);
+    row.put("double", 2.5);
+    // e.g. TINYINT(1) or BIT
+    row.put("bit", true);
+    row.put("datum", Date.valueOf(LocalDate.of(2025, 1, 1)));
+    row.put("text", "Test");
+    row.put("empty", null);
+    var columns = List.copyOf(row.keySet());
+
+    var collector = new ResultSetCollector();
+    collector.processRow(resultSet(columns, row));
+
+    assertThat(collector.getResultSets())
+        .singleElement()
+        .satisfies(
+            resultSet -> {
+              var rawData = resultSet.getRawData();
+              assertThat(rawData.get("id")).isInstanceOf(Long.class).isEqualTo(4294967295L);
+              assertThat(rawData.get("tinyint")).isInstanceOf(Byte.class);
+              assertThat(rawData.get("smallint")).isInstanceOf(Short.class);
+              assertThat(rawData.get("float")).isInstanceOf(Float.class).isEqualTo(1.5f);
+              assertThat(rawData.get("double")).isInstanceOf(Double.class).isEqualTo(2.5);
+              assertThat(rawData.get("bit")).isEqualTo(true);
+              assertThat(rawData.get("datum")).isInstanceOf(Date.class);
+              assertThat(rawData.get("text")).isEqualTo("Test");
+              assertThat(rawData.get("empty")).isNull();
+            });
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.datacatalogues;
+
+import static dev.pcvolkmer.mv64e.datamapper.datacatalogues.JdbcRows.rows;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+class RowCacheTest {
+
+  JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp(@Mock JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+
+    // Not used by tests of mapped values
+    lenient()
+        .doAnswer(
+            rows(
+                invocationOnMock -> {
+                  var sql = invocationOnMock.getArgument(0, String.class);
+                  if (sql.startsWith("SELECT feldname") || sql.startsWith("SELECT eintrag_id")) {
+                    return List.of();
+                  }
+                  return List.of(new HashMap<>(Map.of("id", 2, "hauptprozedur_id", 1)));
+                }))
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+  }
+
+  @Test
+  void shouldReadRowOnlyOnceWhileOpen() {
+    var catalogue = KpaCatalogue.create(jdbcTemplate);
+
+    try (var rowCache = RowCache.open()) {
+      assertThat(catalogue.getById(2)).isSameAs(catalogue.getById(2));
+    }
+
+    verify(jdbcTemplate, times(1))
+        .query(
+            startsWith("SELECT patient.patienten_id"),
+            any(PreparedStatementSetter.class),
+            any(RowCallbackHandler.class));
+  }
+
+  @Test
+  void shouldReadRowAgainAfterClose() {
+    var catalogue = KpaCatalogue.create(jdbcTemplate);
+
+    try (var rowCache = RowCache.open()) {
+      catalogue.getById(2);
+    }
+    catalogue.getById(2);
+
+    verify(jdbcTemplate, times(2))
+        .query(
+            startsWith("SELECT patient.patienten_id"),
+            any(PreparedStatementSetter.class),
+            any(RowCallbackHandler.class));
+  }
+
+  @Test
+  void shouldNotDiscardRowsOnCloseOfJoinedRowCache() {
+    var catalogue = KpaCatalogue.create(jdbcTemplate);
+
+    try (var rowCache = RowCache.open()) {
+      try (var joined = RowCache.open()) {
+        catalogue.getById(2);
+      }
+      catalogue.getById(2);
+    }
+
+    verify(jdbcTemplate, times(1))
+        .query(
+            startsWith("SELECT patient.patienten_id"),
+            any(PreparedStatementSetter.class),
+            any(RowCallbackHandler.class));
+  }
+
+  @Test
+  void shouldNotShareRowsOfDifferentDataSources(
+      @Mock JdbcTemplate otherJdbcTemplate, @Mock DataSource dataSource) {
+    when(otherJdbcTemplate.getDataSource()).thenReturn(dataSource);
+    doAnswer(
+            rows(
+                invocationOnMock -> {
+                  var sql = invocationOnMock.getArgument(0, String.class);
+                  if (sql.startsWith("SELECT feldname") || sql.startsWith("SELECT eintrag_id")) {
+                    return List.of();
+                  }
+                  return List.of(new HashMap<>(Map.of("id", 2, "source", "other")));
+                }))
+        .when(otherJdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    try (var rowCache = RowCache.open()) {
+      var row = KpaCatalogue.create(jdbcTemplate).getById(2);
+      var otherRow = KpaCatalogue.create(otherJdbcTemplate).getById(2);
+
+      assertThat(otherRow).isNotSameAs(row);
+      assertThat(otherRow.getString("source")).isEqualTo("other");
+    }
+  }
+
+  @Test
+  void shouldMapValueOnlyOnceWhileOpen() {
+    var catalogue = KpaCatalogue.create(jdbcTemplate);
+
+    try (var rowCache = RowCache.open()) {
+      var first = mapped(catalogue, "first");
+      var second = mapped(catalogue, "second");
+
+      assertThat(second).isSameAs(first).hasToString("first");
+    }
+  }
+
+  @Test
+  void shouldNotShareMappedValuesWithJoinedRowCache() {
+    var catalogue = KpaCatalogue.create(jdbcTemplate);
+
+    try (var rowCache = RowCache.open()) {
+      var outer = mapped(catalogue, "outer");
+
+      try (var joined = RowCache.open()) {
+        var first = mapped(catalogue, "first");
+        assertThat(first).isNotSameAs(outer).hasToString("first");
+        assertThat(mapped(catalogue, "other")).isSameAs(first);
+      }
+
+      try (var joined = RowCache.open()) {
+        assertThat(mapped(catalogue, "second")).hasToString("second");
+      }
+
+      assertThat(mapped(catalogue, "other")).isSameAs(outer);
+    }
+  }
+
+  @Test
+  void shouldUseRowsReadByParentId() {
+    var catalogue = EinzelempfehlungCatalogue.create(jdbcTemplate);
+
+    try (var rowCache = RowCache.open()) {
+      assertThat(catalogue.getAllByParentId(1)).hasSize(1);
+      assertThat(catalogue.getAllByParentId(1)).hasSize(1);
+      assertThat(catalogue.getById(2).getId()).isEqualTo(2);
+    }
+
+    verify(jdbcTemplate, times(1))
+        .query(
+            startsWith("SELECT patient.patienten_id"),
+            any(PreparedStatementSetter.class),
+            any(RowCallbackHandler.class));
+  }
+
+  @Test
+  void shouldShareRowsWithAttachedWorkerThread() throws Exception {
+    var catalogue = EinzelempfehlungCatalogue.create(jdbcTemplate);
+
+    try (var rowCache = RowCache.open()) {
+      catalogue.getById(2);
+
+      var detached = new AtomicBoolean();
+      var worker =
+          new Thread(
+              () -> {
+                try (var attached = rowCache.attach()) {
+                  catalogue.getById(2);
+                }
+                detached.set(RowCache.current().isEmpty());
+              });
+      worker.start();
+      worker.join();
+
+      assertThat(detached).isTrue();
+
+      catalogue.getById(2);
+    }
+
+    verify(jdbcTemplate, times(1))
+        .query(
+            startsWith("SELECT patient.patienten_id"),
+            any(PreparedStatementSetter.class),
+            any(RowCallbackHandler.class));
+  }
+
+  private static StringBuilder mapped(AbstractDataCatalogue catalogue, String value) {
+    return RowCache.getMapped(RowCacheTest.class, catalogue, 1, id -> new StringBuilder(value));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.genes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GeneFileTest {
+
+  private static final String HEADER =
+      "HGNC ID\tApproved symbol\tApproved name\tChromosome\tEnsembl ID(supplied by Ensembl)\n";
+
+  @TempDir Path tempDir;
+
+  @Test
+  void shouldUseInitialSourceUntilLoaded() {
+    var initial = GeneCatalogue.empty();
+    var geneFile = new GeneFile(tempDir.resolve("genes.csv"), initial);
+
+    assertThat(geneFile.source()).containsSame(initial);
+  }
+
+  @Test
+  void shouldLoadGeneFile() throws Exception {
+    var path = tempDir.resolve("genes.csv");
+    Files.writeString(path, HEADER + "HGNC:1097\tBRAF\tB-Raf\t7q34\tENSG00000157764\n");
+
+    var geneFile = new GeneFile(path, null);
+    geneFile.refresh().get();
+
+    assertThat(geneFile.source())
+        .hasValueSatisfying(
+            source -> {
+              assertThat(source.size()).isEqualTo(1);
+              assertThat(source.findBySymbol("BRAF")).isPresent();
+            });
+  }
+
+  @Test
+  void shouldReloadModifiedGeneFile() throws Exception {
+    var path = tempDir.resolve("genes.csv");
+    Files.writeString(path, HEADER + "HGNC:1097\tBRAF\tB-Raf\t7q34\tENSG00000157764\n");
+
+    var geneFile = new GeneFile(path, null);
+    geneFile.refresh().get();
+
+    Files.writeString(path, HEADER + "HGNC:1101\tBRCA2\tBRCA2\t13q13.1\tENSG00000139618\n");
+    Files.setLastModifiedTime(path, FileTime.from(Instant.now().plusSeconds(60)));
+    geneFile.refresh().get();
+
+    assertThat(geneFile.source())
+        .hasValueSatisfying(
+            source -> {
+              assertThat(source.findBySymbol("BRAF")).isEmpty();
+              assertThat(source.findBySymbol("BRCA2")).isPresent();
+            });
+  }
+
+  @Test
+  void shouldNotScheduleReloadOfUnmodifiedGeneFile() throws Exception {
+    var path = tempDir.resolve("genes.csv");
+    Files.writeString(path, HEADER + "HGNC:1097\tBRAF\tB-Raf\t7q34\tENSG00000157764\n");
+
+    var geneFile = new GeneFile(path, null);
+    var loaded = geneFile.refresh();
+    loaded.get();
+
+    assertThat(geneFile.refresh()).isSameAs(loaded);
+  }
+
+  @Test
+  void shouldKeepPreviousGenesOnInvalidGeneFile() throws Exception {
+    var path = tempDir.resolve("genes.csv");
+    Files.writeString(path, HEADER + "HGNC:1097\tBRAF\tB-Raf\t7q34\tENSG00000157764\n");
+
+    var geneFile = new GeneFile(path, null);
+    geneFile.refresh().get();
+
+    Files.writeString(path, HEADER);
+    Files.setLastModifiedTime(path, FileTime.from(Instant.now().plusSeconds(60)));
+    geneFile.refresh().get();
+
+    assertThat(geneFile.source())
+        .hasValueSatisfying(source -> assertThat(source.findBySymbol("BRAF")).isPresent());
+  }
+
+  @Test
+  void shouldKeepInitialSourceIfGeneFileDoesNotExist() throws Exception {
+    var initial = GeneCatalogue.empty();
+    var geneFile = new GeneFile(tempDir.resolve("missing.csv"), initial);
+    geneFile.refresh().get();
+
+    assertThat(geneFile.source()).containsSame(initial);
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.genes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GeneIndexTest {
+
+  GeneIndex geneIndex;
+
+  @BeforeEach
+  void setUp() {
+    this.geneIndex = GeneIndex.bundled().orElseThrow();
+  }
+
+  @Test
+  void shouldContainAllGenesOfGeneList() {
+    assertThat(geneIndex.size()).isEqualTo(GeneCatalogue.bundled().size());
+  }
+
+  @Test
+  void shouldFindBySymbol() {
+    assertThat(geneIndex.findBySymbol("braf"))
+        .isEqualTo(GeneCatalogue.bundled().findBySymbol("BRAF"))
+        .hasValueSatisfying(gene -> assertThat(gene.getHgncId()).isEqualTo("HGNC:1097"));
+  }
+
+  @Test
+  void shouldFindByHgncId() {
+    assertThat(geneIndex.findByHgncId("HGNC:1101"))
+        .hasValueSatisfying(gene -> assertThat(gene.getSymbol()).isEqualTo("BRCA2"));
+  }
+
+  @Test
+  void shouldFindByEnsemblId() {
+    assertThat(geneIndex.findByEnsemblId("ENSG00000101986"))
+        .hasValueSatisfying(gene -> assertThat(gene.getSymbol()).isEqualTo("ABCD1"));
+  }
+
+  @Test
+  void shouldShareStringsOfRepeatedLookups() {
+    var first = geneIndex.findBySymbol("BRAF").orElseThrow();
+    var second = geneIndex.findByHgncId("HGNC:1097").orElseThrow();
+
+    assertThat(second.getSymbol()).isSameAs(first.getSymbol());
+    assertThat(second.getName()).isSameAs(first.getName());
+    assertThat(second.getEnsemblId()).isSameAs(first.getEnsemblId());
+  }
+
+  @Test
+  void shouldNotFindUnknownGene() {
+    assertThat(geneIndex.findBySymbol("UNKNOWN")).isEmpty();
+    assertThat(geneIndex.findByEnsemblId("")).isEmpty();
+  }
+
+  @Test
+  void shouldNotFindGeneForNullValues() {
+    assertThat(geneIndex.findBySymbol(null)).isEmpty();
+    assertThat(geneIndex.findByHgncId(null)).isEmpty();
+    assertThat(geneIndex.findByEnsemblId(null)).isEmpty();
+    assertThat(GeneCatalogue.bundled().findBySymbol(null)).isEmpty();
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.genes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.pcvolkmer.mv64e.mtb.Chromosome;
+import org.junit.jupiter.api.Test;
+
+class GeneTest {
+
+  @Test
+  void shouldReturnChromosomesInPropertyForm() {
+    var gene = new Gene("HGNC:1", "", "TEST", "Test", "Xp22.33 and Yp11.32");
+
+    assertThat(gene.getChromosomesInPropertyForm())
+        .containsExactly(Chromosome.CHR_X, Chromosome.CHR_Y);
+    assertThat(gene.getSingleChromosomeInPropertyForm()).isEmpty();
+  }
+
+  @Test
+  void shouldReturnSingleChromosomeInPropertyForm() {
+    var gene = new Gene("HGNC:1", "", "TEST", "Test", "22q13 alternate reference locus");
+
+    assertThat(gene.getSingleChromosomeInPropertyForm()).hasValue(Chromosome.CHR22);
+  }
+
+  @Test
+  void shouldNotReturnChromosomeInPropertyFormForUnknownLocation() {
+    var gene = new Gene("HGNC:1", "", "TEST", "Test", "mitochondria");
+
+    assertThat(gene.getChromosomesInPropertyForm()).isEmpty();
+  }
+
+  @Test
+  void shouldShareChromosomesOfGenesAtSameLocation() {
+    var dictionary = new GeneDictionary();
+    var gene1 = dictionary.gene("HGNC:1", "", "TEST1", "Test 1", new String("7q34"));
+    var gene2 = dictionary.gene("HGNC:2", "", "TEST2", "Test 2", new String("7q34"));
+
+    assertThat(gene1.getChromosome()).isSameAs(gene2.getChromosome());
+    assertThat(gene1.getChromosomesInPropertyForm())
+        .isSameAs(gene2.getChromosomesInPropertyForm())
+        .containsExactly(Chromosome.CHR7);
+  }
+}
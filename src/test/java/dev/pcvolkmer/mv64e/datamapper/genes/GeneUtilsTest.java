@@ -23,6 +23,7 @@ package dev.pcvolkmer.mv64e.datamapper.genes;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import dev.pcvolkmer.mv64e.mtb.Chromosome;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class GeneUtilsTest {
@@ -77,4 +78,43 @@ class GeneUtilsTest {
               assertThat(gene.getSingleChromosomeInPropertyForm()).hasValue(Chromosome.CHR13);
             });
   }
+
+  @Test
+  void findByHgncSymbolIgnoringCase() {
+    var actual = GeneUtils.findBySymbol("braf");
+
+    assertThat(actual)
+        .isPresent()
+        .hasValueSatisfying(gene -> assertThat(gene.getHgncId()).isEqualTo("HGNC:1097"));
+  }
+
+  @Test
+  void shouldNotFindUnknownHgncSymbol() {
+    assertThat(GeneUtils.findBySymbol("UNKNOWN GENE")).isEmpty();
+  }
+
+  @Test
+  void findByEnsemblId() {
+    var actual = GeneUtils.findByEnsemblId("ENSG00000139618");
+
+    assertThat(actual)
+        .isPresent()
+        .hasValueSatisfying(gene -> assertThat(gene.getSymbol()).isEqualTo("BRCA2"));
+  }
+
+  @Test
+  void findAllBySymbols() {
+    var actual = GeneUtils.findAllBySymbols(List.of("BRAF", "BRCA 2", "UNKNOWN GENE", "BRAF"));
+
+    assertThat(actual).hasSize(2).containsOnlyKeys("BRAF", "BRCA 2");
+    assertThat(actual.get("BRAF").getHgncId()).isEqualTo("HGNC:1097");
+    assertThat(actual.get("BRCA 2").getHgncId()).isEqualTo("HGNC:1101");
+  }
+
+  @Test
+  void shouldReturnEmptyOptionalForNullValues() {
+    assertThat(GeneUtils.findByHgncId(null)).isEmpty();
+    assertThat(GeneUtils.findBySymbol(null)).isEmpty();
+    assertThat(GeneUtils.findByEnsemblId(null)).isEmpty();
+  }
 }
@@ -0,0 +1,55 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import dev.pcvolkmer.mv64e.mtb.EcogCodingCode;
+import dev.pcvolkmer.mv64e.mtb.TherapyStatusCodingCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CodingResolverTest {
+
+  @Test
+  void shouldResolveCodingCode() {
+    assertThat(CodingResolver.resolve(EcogCodingCode.class, "1")).isEqualTo(EcogCodingCode.CODE_1);
+    assertThat(CodingResolver.resolve(TherapyStatusCodingCode.class, "stopped"))
+        .isEqualTo(TherapyStatusCodingCode.STOPPED);
+  }
+
+  @ParameterizedTest
+  @NullSource
+  @ValueSource(strings = {"", "CODE_1", "99"})
+  void shouldNotResolveUnknownValue(String value) {
+    assertThat(CodingResolver.resolve(EcogCodingCode.class, value)).isNull();
+    assertThat(CodingResolver.isValid(EcogCodingCode.class, value)).isFalse();
+  }
+
+  @Test
+  void shouldThrowExceptionForEnumWithoutCodingValues() {
+    assertThatThrownBy(() -> CodingResolver.resolve(Thread.State.class, "NEW"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
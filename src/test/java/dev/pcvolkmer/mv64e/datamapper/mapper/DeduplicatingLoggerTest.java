@@ -0,0 +1,215 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+class DeduplicatingLoggerTest {
+
+  AtomicLong clock;
+  ListAppender<ILoggingEvent> listAppender;
+  DeduplicatingLogger deduplicatingLogger;
+
+  @BeforeEach
+  void setUp() {
+    var logger = (Logger) LoggerFactory.getLogger(DeduplicatingLoggerTest.class);
+    this.listAppender = new ListAppender<>();
+    logger.addAppender(this.listAppender);
+    this.listAppender.start();
+    this.clock = new AtomicLong();
+    this.deduplicatingLogger =
+        new DeduplicatingLogger(logger, Duration.ofNanos(100), this.clock::get);
+  }
+
+  @Test
+  void shouldLogDistinctMessagesOnce() {
+    deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+    deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+    deduplicatingLogger.warn("Gene symbol {} not found", "XYZ");
+    deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+
+    assertThat(messages())
+        .containsExactly("Gene symbol ABC not found", "Gene symbol XYZ not found");
+  }
+
+  @Test
+  void shouldLogSummaryWithCounts() {
+    deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+    deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+    deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+
+    deduplicatingLogger.summarizeSuppressed();
+    // Nothing suppressed since last summary
+    deduplicatingLogger.summarizeSuppressed();
+
+    assertThat(listAppender.list).hasSize(2);
+    assertThat(listAppender.list.get(1).getFormattedMessage())
+        .isEqualTo("Suppressed 2 repeated log messages: Gene symbol ABC not found (2x)");
+    assertThat(listAppender.list.get(1).getLevel()).isEqualTo(Level.WARN);
+  }
+
+  @Test
+  void shouldLogSummaryAsErrorIfErrorsSuppressed() {
+    deduplicatingLogger.error("No supported CNV Code for {} found.", "X");
+    deduplicatingLogger.error("No supported CNV Code for {} found.", "X");
+
+    deduplicatingLogger.summarizeSuppressed();
+
+    assertThat(listAppender.list)
+        .extracting(ILoggingEvent::getLevel)
+        .containsExactly(Level.ERROR, Level.ERROR);
+  }
+
+  @Test
+  void shouldLogMessageAgainAfterInterval() {
+    deduplicatingLogger.warn("No values for NGS report metadata available");
+    clock.addAndGet(50);
+    deduplicatingLogger.warn("No values for NGS report metadata available");
+    clock.addAndGet(50);
+    deduplicatingLogger.warn("No values for NGS report metadata available");
+
+    assertThat(messages())
+        .containsExactly(
+            "No values for NGS report metadata available",
+            "No values for NGS report metadata available");
+  }
+
+  @Test
+  void shouldLimitMessagesInSummary() {
+    for (var i = 0; i < DeduplicatingLogger.MAX_SUMMARY_MESSAGES + 1; i++) {
+      deduplicatingLogger.warn("Message {}", i);
+      deduplicatingLogger.warn("Message {}", i);
+    }
+    listAppender.list.clear();
+
+    deduplicatingLogger.summarizeSuppressed();
+
+    assertThat(messages()).hasSize(1);
+    assertThat(messages().get(0))
+        .startsWith("Suppressed 11 repeated log messages: ")
+        .endsWith("; ...");
+  }
+
+  @Test
+  void shouldForgetExpiredMessagesOnSummary() {
+    for (var i = 0; i < DeduplicatingLogger.MAX_MESSAGES; i++) {
+      deduplicatingLogger.warn("Message {}", i);
+    }
+    clock.addAndGet(100);
+    deduplicatingLogger.summarizeSuppressed();
+    listAppender.list.clear();
+
+    deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+    deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+
+    assertThat(messages()).containsExactly("Gene symbol ABC not found");
+  }
+
+  @Test
+  void shouldNotForgetMessagesWithinIntervalOnSummary() {
+    deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+    clock.addAndGet(50);
+    deduplicatingLogger.summarizeSuppressed();
+
+    deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+
+    assertThat(messages()).containsExactly("Gene symbol ABC not found");
+  }
+
+  @Test
+  void shouldLogSummaryOfEachExportSeparately() throws Exception {
+    deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+
+    try (var summary = DeduplicatingLogger.Summary.open()) {
+      deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+
+      var otherExport =
+          new Thread(
+              () -> {
+                try (var otherSummary = DeduplicatingLogger.Summary.open()) {
+                  deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+                  deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+                }
+              });
+      otherExport.start();
+      otherExport.join();
+    }
+    // Nothing suppressed without summary
+    deduplicatingLogger.summarizeSuppressed();
+
+    assertThat(messages())
+        .containsExactly(
+            "Gene symbol ABC not found",
+            "Suppressed 2 repeated log messages: Gene symbol ABC not found (2x)",
+            "Suppressed 1 repeated log messages: Gene symbol ABC not found (1x)");
+  }
+
+  @Test
+  void shouldCountMessagesOfWorkerThreadsInAttachedSummary() throws Exception {
+    deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+
+    try (var summary = DeduplicatingLogger.Summary.open()) {
+      var worker =
+          new Thread(
+              () -> {
+                try (var attachedSummary = summary.attach()) {
+                  deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+                }
+                // Detached from worker thread
+                deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+              });
+      worker.start();
+      worker.join();
+      deduplicatingLogger.warn("Gene symbol {} not found", "ABC");
+
+      assertThat(DeduplicatingLogger.Summary.current()).containsSame(summary);
+    }
+
+    assertThat(DeduplicatingLogger.Summary.current()).isEmpty();
+    assertThat(messages())
+        .containsExactly(
+            "Gene symbol ABC not found",
+            "Suppressed 2 repeated log messages: Gene symbol ABC not found (2x)");
+
+    deduplicatingLogger.summarizeSuppressed();
+
+    assertThat(messages())
+        .endsWith("Suppressed 1 repeated log messages: Gene symbol ABC not found (1x)");
+  }
+
+  private List<String> messages() {
+    return listAppender.list.stream()
+        .map(ILoggingEvent::getFormattedMessage)
+        .collect(Collectors.toList());
+  }
+}
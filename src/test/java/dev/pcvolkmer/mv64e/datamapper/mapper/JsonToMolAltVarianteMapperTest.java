@@ -21,11 +21,15 @@
 package dev.pcvolkmer.mv64e.datamapper.mapper;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
 import dev.pcvolkmer.mv64e.mtb.Coding;
 import dev.pcvolkmer.mv64e.mtb.GeneAlterationReference;
 import dev.pcvolkmer.mv64e.mtb.Reference;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class JsonToMolAltVarianteMapperTest {
 
@@ -51,4 +55,22 @@ class JsonToMolAltVarianteMapperTest {
                 .variant(Reference.builder().id("22641112").type("Variant").build())
                 .build());
   }
+
+  @Test
+  void shouldSkipUnknownNestedFields() {
+    var json =
+        "[{\"details\":{\"gen\":\"TP53\",\"values\":[1,2]},\"gen\":\"BRAF\",\"id\":\"22641112\"},{\"id\":1,\"gen\":\"UNKNOWN\"}]";
+
+    var actual = JsonToMolAltVarianteMapper.map(json);
+
+    assertThat(actual).hasSize(1);
+    assertThat(actual.get(0).getGene().getDisplay()).isEqualTo("BRAF");
+    assertThat(actual.get(0).getVariant().getId()).isEqualTo("22641112");
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"", "{}", "[{\"id\":1", "[1]", "[{\"gen\":[\"BRAF\"]}]"})
+  void shouldThrowExceptionOnInvalidJson(String json) {
+    assertThrows(DataAccessException.class, () -> JsonToMolAltVarianteMapper.map(json));
+  }
 }
@@ -4,11 +4,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import dev.pcvolkmer.mv64e.datamapper.PropertyCatalogue;
 import dev.pcvolkmer.mv64e.datamapper.datacatalogues.MolekulargenetikCatalogue;
 import dev.pcvolkmer.mv64e.datamapper.datacatalogues.MolekulargenuntersuchungCatalogue;
+import dev.pcvolkmer.mv64e.datamapper.datacatalogues.RowCache;
 import dev.pcvolkmer.mv64e.datamapper.test.Column;
 import dev.pcvolkmer.mv64e.datamapper.test.PropcatColumn;
 import dev.pcvolkmer.mv64e.datamapper.test.TestResultSet;
@@ -89,6 +92,31 @@ class MolekulargenetikNgsDataMapperTest {
     assertThat(actual).isInstanceOf(SomaticNgsReport.class);
   }
 
+  @Test
+  void shouldMapNgsReportOncePerExport() {
+    doAnswer(
+            invocationOnMock -> {
+              var id = invocationOnMock.getArgument(0, Integer.class);
+              return TestResultSet.withColumns(
+                  Column.name(Column.ID).value(id),
+                  Column.name(Column.PATIENTEN_ID).value(4711),
+                  PropcatColumn.name("AnalyseMethoden").values("S"),
+                  PropcatColumn.name("entnahmemethode").value("B"),
+                  PropcatColumn.name("probenmaterial").value("T"));
+            })
+        .when(molekulargenetikCatalogue)
+        .getById(anyInt());
+
+    when(molekulargenetikCatalogue.isOfTypeSeqencing(anyInt())).thenReturn(true);
+
+    try (var rowCache = RowCache.open()) {
+      assertThat(this.mapper.getById(1)).isSameAs(this.mapper.getById(1));
+    }
+    assertThat(this.mapper.getById(1)).isNotNull();
+
+    verify(molekulargenetikCatalogue, times(2)).getById(1);
+  }
+
   @Test
   void shouldContainSimpleVariant() {
     doAnswer(
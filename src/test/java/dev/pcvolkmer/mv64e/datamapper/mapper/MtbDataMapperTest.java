@@ -20,15 +20,43 @@
 
 package dev.pcvolkmer.mv64e.datamapper.mapper;
 
+import static dev.pcvolkmer.mv64e.datamapper.mapper.exceptionhandler.TryAndLog.tryAndLogWithResult;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
+import dev.pcvolkmer.mv64e.datamapper.PropertyCatalogue;
+import dev.pcvolkmer.mv64e.datamapper.datacatalogues.KpaCatalogue;
+import dev.pcvolkmer.mv64e.datamapper.datacatalogues.RowCache;
+import dev.pcvolkmer.mv64e.datamapper.exceptions.DataAccessException;
+import dev.pcvolkmer.mv64e.datamapper.exceptions.IgnorableMappingException;
+import dev.pcvolkmer.mv64e.datamapper.mapper.exceptionhandler.MappingIssue;
+import dev.pcvolkmer.mv64e.datamapper.mapper.exceptionhandler.MappingIssues;
+import dev.pcvolkmer.mv64e.mtb.Mtb;
+import java.nio.file.Path;
+import java.sql.ResultSetMetaData;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.sql.DataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
 
 @ExtendWith(MockitoExtension.class)
 class MtbDataMapperTest {
@@ -47,4 +75,265 @@ class MtbDataMapperTest {
   void shouldCreateDataMapper(@Mock DataSource dataSource) {
     assertThat(MtbDataMapper.create(dataSource)).isNotNull();
   }
+
+  @Test
+  void shouldRecordMappingIssuesOfDependentSection() throws Exception {
+    var executor = Executors.newSingleThreadExecutor();
+    var started = new CountDownLatch(1);
+    this.mtbDataMapper.executor(executor);
+
+    try (var rowCache = RowCache.open();
+        var mappingIssues = MappingIssues.open()) {
+      var section =
+          this.mtbDataMapper.section(
+              rowCache,
+              mappingIssues,
+              () -> {
+                try {
+                  started.await();
+                } catch (InterruptedException e) {
+                  Thread.currentThread().interrupt();
+                }
+                return "Test";
+              });
+      // Runs on the worker thread after the first section has been detached
+      var dependentSection =
+          section.thenCompose(
+              value ->
+                  this.mtbDataMapper.section(
+                      rowCache,
+                      mappingIssues,
+                      () ->
+                          tryAndLogWithResult(
+                                  () -> {
+                                    throw new IgnorableMappingException(value);
+                                  })
+                              .okOrNull()));
+      started.countDown();
+      dependentSection.get();
+
+      assertThat(mappingIssues.getIssues())
+          .extracting(MappingIssue::getMessage)
+          .containsExactly("Test");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldPreloadPropertyVersionsUsingSnapshot(
+      @Mock DataSource dataSource, @Mock java.sql.ResultSet rs, @TempDir Path tempDir)
+      throws Exception {
+    when(jdbcTemplate.getDataSource()).thenReturn(dataSource);
+    when(rs.getString(anyString()))
+        .thenAnswer(
+            invocationOnMock ->
+                Map.of("code", "C34.0", "shortdesc", "C34.0", "description", "Hauptbronchus")
+                    .get(invocationOnMock.getArgument(0, String.class)));
+    when(rs.getInt("property_version_id")).thenReturn(1);
+    doAnswer(
+            invocationOnMock -> {
+              invocationOnMock.getArgument(1, RowCallbackHandler.class).processRow(rs);
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    var snapshot = tempDir.resolve("propcat.snapshot");
+
+    MtbDataMapper.create(jdbcTemplate).preloadPropertyVersions(List.of(1), snapshot);
+
+    assertThat(snapshot).exists();
+    assertThat(PropertyCatalogue.of(jdbcTemplate).getByCodeAndVersion("C34.0", 1).getShortdesc())
+        .isEqualTo("C34.0");
+    verify(jdbcTemplate, never())
+        .queryForObject(anyString(), any(RowMapper.class), any(Object[].class));
+  }
+
+  @Test
+  void shouldNotFailIfPropertyVersionsCannotBePreloaded() {
+    doThrow(new QueryTimeoutException("timeout"))
+        .when(jdbcTemplate)
+        .query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+    assertThat(this.mtbDataMapper.preloadPropertyVersions(List.of(1))).isSameAs(mtbDataMapper);
+  }
+
+  @Test
+  void shouldMapCasesInChunksSharingRowCacheWithinChunkOnly(
+      @Mock java.sql.ResultSet rs, @Mock ResultSetMetaData metaData) throws Exception {
+    when(rs.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(1);
+    when(metaData.getColumnLabel(1)).thenReturn("id");
+    when(rs.getObject(1)).thenReturn(1);
+    // Any query for KPA procedures returns KPA procedure 1 only
+    doAnswer(
+            invocationOnMock -> {
+              if (invocationOnMock.getArgument(0, String.class).contains("dk_dnpm_kpa.*")) {
+                invocationOnMock.getArgument(2, RowCallbackHandler.class).processRow(rs);
+              }
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    var mapper = spy(this.mtbDataMapper);
+    doAnswer(
+            invocationOnMock -> {
+              KpaCatalogue.create(jdbcTemplate).getById(1);
+              return Mtb.builder().build();
+            })
+        .when(mapper)
+        .map(anyInt(), any(RowCache.class));
+    var ids = IntStream.rangeClosed(1, 51).boxed().collect(Collectors.toList());
+
+    var result = mapper.getByIds(ids);
+
+    assertThat(result.keySet()).containsExactlyElementsOf(ids);
+    assertThat(result.values()).allMatch(MtbMappingResult::isSuccess);
+
+    var argsCaptor = ArgumentCaptor.forClass(Object[].class);
+    verify(jdbcTemplate, times(2))
+        .query(contains("UNION ALL"), any(RowCallbackHandler.class), argsCaptor.capture());
+    // Form trees of 50 and 1 KPA procedures, each id used three times
+    assertThat(argsCaptor.getAllValues()).extracting(args -> args.length).containsExactly(150, 3);
+
+    // Preloaded for all cases of the first chunk, read once again for the second chunk
+    verify(jdbcTemplate, times(1))
+        .query(
+            contains("prozedur.id = ?"),
+            any(PreparedStatementSetter.class),
+            any(RowCallbackHandler.class));
+  }
+
+  @Test
+  void shouldMapOtherCasesIfOneCaseFails() {
+    var mapper = spy(this.mtbDataMapper);
+    doAnswer(
+            invocationOnMock -> {
+              if (invocationOnMock.getArgument(0, Integer.class) == 1) {
+                throw new DataAccessException("No record found for id: 1");
+              }
+              return Mtb.builder().build();
+            })
+        .when(mapper)
+        .map(anyInt(), any(RowCache.class));
+
+    var result = mapper.getByIds(List.of(3, 1, 2, 1));
+
+    assertThat(result.keySet()).containsExactly(3, 1, 2);
+    assertThat(result.get(3).isSuccess()).isTrue();
+    assertThat(result.get(1).isSuccess()).isFalse();
+    assertThat(result.get(1).getException()).containsInstanceOf(DataAccessException.class);
+    assertThat(result.get(2).isSuccess()).isTrue();
+    verify(mapper, times(3)).map(anyInt(), any(RowCache.class));
+  }
+
+  @Test
+  void shouldMapCasesByCaseIds(@Mock java.sql.ResultSet rs) throws Exception {
+    when(rs.getString("fallnummermv")).thenReturn("A", "B", "B");
+    when(rs.getInt("id")).thenReturn(1, 2, 3);
+    doAnswer(
+            invocationOnMock -> {
+              if (invocationOnMock.getArgument(0, String.class).contains("fallnummermv IN")) {
+                var handler = invocationOnMock.getArgument(2, RowCallbackHandler.class);
+                for (var i = 0; i < 3; i++) {
+                  handler.processRow(rs);
+                }
+              }
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+
+    var mapper = spy(this.mtbDataMapper);
+    doReturn(Mtb.builder().build()).when(mapper).map(anyInt(), any(RowCache.class));
+
+    var result = mapper.getByCaseIds(List.of("C", "A", " ", "B", "A"));
+
+    assertThat(result.keySet()).containsExactly("C", "A", " ", "B");
+    assertThat(result.get("A").isSuccess()).isTrue();
+    assertThat(result.get("C").getException())
+        .hasValueSatisfying(
+            e ->
+                assertThat(e)
+                    .isInstanceOf(DataAccessException.class)
+                    .hasMessage("No record found for case: C"));
+    assertThat(result.get(" ").getException())
+        .hasValueSatisfying(e -> assertThat(e).isInstanceOf(IllegalArgumentException.class));
+    assertThat(result.get("B").getException())
+        .hasValueSatisfying(
+            e ->
+                assertThat(e)
+                    .isInstanceOf(DataAccessException.class)
+                    .hasMessage("Multiple procedure IDs found for case: B"));
+    verify(mapper).map(eq(1), any(RowCache.class));
+    verify(mapper, times(1)).map(anyInt(), any(RowCache.class));
+  }
+
+  @Test
+  void shouldMapSameMtbUsingExecutor(
+      @Mock java.sql.ResultSet rs, @Mock ResultSetMetaData metaData) throws Exception {
+    // KPA procedure without ICD10 code, so the diagnosis section will fail
+    when(rs.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(3);
+    when(metaData.getColumnLabel(1)).thenReturn("id");
+    when(metaData.getColumnLabel(2)).thenReturn("patient_id");
+    when(metaData.getColumnLabel(3)).thenReturn("patienten_id");
+    when(rs.getObject(1)).thenReturn(1);
+    when(rs.getObject(2)).thenReturn(2);
+    when(rs.getObject(3)).thenReturn("P1");
+    doAnswer(
+            invocationOnMock -> {
+              if (invocationOnMock.getArgument(0, String.class).contains("dk_dnpm_kpa.*")) {
+                invocationOnMock.getArgument(2, RowCallbackHandler.class).processRow(rs);
+              }
+              return null;
+            })
+        .when(jdbcTemplate)
+        .query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+    when(jdbcTemplate.queryForList("SELECT * FROM patient WHERE id = ?", 2))
+        .thenReturn(List.of(Map.<String, Object>of("id", 2, "patienten_id", "P1")));
+
+    var sequential = new MtbDataMapper(jdbcTemplate).getByIds(List.of(1)).get(1);
+
+    var pool = Executors.newFixedThreadPool(2);
+    var workerSections = new AtomicInteger();
+    Executor executor =
+        command -> {
+          workerSections.incrementAndGet();
+          pool.execute(command);
+        };
+    MtbMappingResult concurrent;
+    try {
+      concurrent = new MtbDataMapper(jdbcTemplate).executor(executor).getByIds(List.of(1)).get(1);
+    } finally {
+      pool.shutdown();
+    }
+
+    assertThat(workerSections).hasPositiveValue();
+    assertThat(sequential.isSuccess()).isTrue();
+    assertThat(concurrent.isSuccess()).isTrue();
+    assertThat(concurrent.orElseThrow())
+        .usingRecursiveComparison()
+        .isEqualTo(sequential.orElseThrow());
+    assertThat(concurrent.orElseThrow().getDiagnoses()).isNullOrEmpty();
+    assertThat(sequential.getIssues())
+        .extracting(MappingIssue::getMessage)
+        .containsExactly("Cannot get expected ICD10 code or property catalogue entry");
+    assertThat(concurrent.getIssues())
+        .extracting(MappingIssue::getMessage)
+        .containsExactly("Cannot get expected ICD10 code or property catalogue entry");
+
+    // Worker threads read the KPA procedure from the row cache of the export
+    verify(jdbcTemplate, times(2))
+        .query(
+            contains("dk_dnpm_kpa.*"),
+            any(PreparedStatementSetter.class),
+            any(RowCallbackHandler.class));
+    verify(jdbcTemplate, never())
+        .query(
+            contains("prozedur.id = ?"),
+            any(PreparedStatementSetter.class),
+            any(RowCallbackHandler.class));
+  }
 }
@@ -0,0 +1,127 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import dev.pcvolkmer.mv64e.mtb.Converter;
+import dev.pcvolkmer.mv64e.mtb.GenderCoding;
+import dev.pcvolkmer.mv64e.mtb.GenderCodingCode;
+import dev.pcvolkmer.mv64e.mtb.Mtb;
+import dev.pcvolkmer.mv64e.mtb.Patient;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MtbJsonWriterTest {
+
+  private static Mtb mtb() {
+    return Mtb.builder()
+        .patient(
+            Patient.builder()
+                .id("4711")
+                .gender(GenderCoding.builder().code(GenderCodingCode.MALE).build())
+                .birthDate(
+                    Date.from(
+                        LocalDate.of(2000, 1, 1).atStartOfDay(ZoneId.of("UTC")).toInstant()))
+                .build())
+        .build();
+  }
+
+  @Test
+  void shouldWriteSameJsonAsConverter() throws IOException {
+    var outputStream = new ByteArrayOutputStream();
+
+    MtbJsonWriter.write(mtb(), outputStream);
+
+    assertThat(outputStream.toString(StandardCharsets.UTF_8))
+        .isEqualTo(Converter.toJsonString(mtb()))
+        .contains("\"2000-01-01\"");
+  }
+
+  @Test
+  void shouldWriteJsonToWriter() throws IOException {
+    var writer = new StringWriter();
+
+    MtbJsonWriter.write(mtb(), writer);
+
+    assertThat(writer).hasToString(Converter.toJsonString(mtb()));
+  }
+
+  @Test
+  void shouldWriteGzipCompressedJson() throws IOException {
+    var outputStream = new ByteArrayOutputStream();
+
+    MtbJsonWriter.writeGzip(mtb(), outputStream);
+
+    try (var inputStream =
+        new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+      assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+          .isEqualTo(Converter.toJsonString(mtb()));
+    }
+  }
+
+  @Test
+  void shouldNotCloseGivenOutputStreamWritingGzipCompressedJson() throws IOException {
+    var closed = new AtomicBoolean();
+    var outputStream =
+        new ByteArrayOutputStream() {
+          @Override
+          public void close() {
+            closed.set(true);
+          }
+        };
+
+    MtbJsonWriter.writeGzip(mtb(), outputStream);
+    MtbJsonWriter.writeGzip(mtb(), outputStream);
+
+    assertThat(closed).isFalse();
+    // Concatenated gzip members are read as one stream
+    try (var inputStream =
+        new GZIPInputStream(new ByteArrayInputStream(outputStream.toByteArray()))) {
+      assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+          .isEqualTo(Converter.toJsonString(mtb()) + Converter.toJsonString(mtb()));
+    }
+  }
+
+  @Test
+  void shouldWriteGzipCompressedJsonFile(@TempDir Path tempDir) throws IOException {
+    var path = tempDir.resolve("mtb.json.gz");
+
+    MtbJsonWriter.write(mtb(), path);
+
+    try (var inputStream = new GZIPInputStream(Files.newInputStream(path))) {
+      assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+          .isEqualTo(Converter.toJsonString(mtb()));
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of mv64e-onkostar-data
+ *
+ * Copyright (C) 2025  Paul-Christian Volkmer
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package dev.pcvolkmer.mv64e.datamapper.mapper.exceptionhandler;
+
+import static dev.pcvolkmer.mv64e.datamapper.mapper.exceptionhandler.TryAndLog.tryAndLog;
+import static dev.pcvolkmer.mv64e.datamapper.mapper.exceptionhandler.TryAndLog.tryAndLogWithResult;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import dev.pcvolkmer.mv64e.datamapper.exceptions.IgnorableMappingException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+class MappingIssuesTest {
+
+  Logger logger;
+  ListAppender<ILoggingEvent> listAppender;
+
+  @BeforeEach
+  void setUp() {
+    this.logger = (Logger) LoggerFactory.getLogger(MappingIssuesTest.class);
+    this.listAppender = new ListAppender<>();
+    this.logger.addAppender(this.listAppender);
+    this.listAppender.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    IgnorableMappingException.setStackTraceEnabled(true);
+  }
+
+  @Test
+  void shouldRecordIgnoredExceptions() {
+    try (var mappingIssues = MappingIssues.open()) {
+      tryAndLogWithResult(
+          () -> {
+            throw new IgnorableMappingException("Test1");
+          },
+          this.logger);
+      tryAndLog(
+          () -> {
+            throw new IgnorableMappingException("Test2");
+          },
+          this.logger);
+
+      assertThat(mappingIssues.getIssues())
+          .containsExactly(
+              new MappingIssue(MappingIssuesTest.class.getName(), "Test1"),
+              new MappingIssue(MappingIssuesTest.class.getName(), "Test2"));
+    }
+
+    assertThat(MappingIssues.current()).isEmpty();
+  }
+
+  @Test
+  void shouldRecordIgnoredExceptionsOfAttachedWorkerThread() throws Exception {
+    var executor = Executors.newSingleThreadExecutor();
+    try (var mappingIssues = MappingIssues.open()) {
+      CompletableFuture.runAsync(
+              () -> {
+                try (var attached = mappingIssues.attach()) {
+                  tryAndLog(
+                      () -> {
+                        throw new IgnorableMappingException("Test");
+                      },
+                      this.logger);
+                }
+              },
+              executor)
+          .get();
+
+      assertThat(mappingIssues.getIssues()).hasSize(1);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void shouldRecordIgnoredExceptionsInNestedCollectorOnly() {
+    try (var mappingIssues = MappingIssues.open()) {
+      // Nested collector must not record issues in the previous one
+      try (var nested = MappingIssues.open()) {
+        tryAndLog(
+            () -> {
+              throw new IgnorableMappingException("Test");
+            },
+            this.logger);
+        assertThat(nested.getIssues()).hasSize(1);
+      }
+
+      assertThat(mappingIssues.getIssues()).isEmpty();
+      assertThat(MappingIssues.current()).contains(mappingIssues);
+    }
+  }
+
+  @Test
+  void shouldLogStacklessExceptionWithoutThrowable() {
+    IgnorableMappingException.setStackTraceEnabled(false);
+
+    var exception = new IgnorableMappingException("Test");
+    tryAndLog(
+        () -> {
+          throw exception;
+        },
+        this.logger);
+
+    assertThat(exception.getStackTrace()).isEmpty();
+    assertThat(listAppender.list)
+        .satisfies(
+            it -> {
+              assertThat(it).hasSize(1);
+              assertThat(it.get(0).getFormattedMessage()).isEqualTo("Test");
+              assertThat(it.get(0).getThrowableProxy()).isNull();
+            });
+  }
+
+  @Test
+  void shouldLogExceptionWithStackTrace() {
+    tryAndLog(
+        () -> {
+          throw new IgnorableMappingException("Test");
+        },
+        this.logger);
+
+    assertThat(listAppender.list)
+        .satisfies(
+            it -> {
+              assertThat(it).hasSize(1);
+              assertThat(it.get(0).getThrowableProxy()).isNotNull();
+            });
+  }
+}